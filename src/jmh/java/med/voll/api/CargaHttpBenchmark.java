@@ -0,0 +1,122 @@
+package med.voll.api;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.domain.usuario.UsuarioRepository;
+import med.voll.api.infra.security.TokenService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de GET /medicos com o servidor completo (Tomcat, filtro JWT e Postgres do application.properties)
+ * quando {@code clientes} requisições chegam ao mesmo tempo, no pool padrão do Tomcat e em threads virtuais.
+ * A listagem não passa pelos caches: cada requisição faz a consulta da página e a contagem no banco, e é esse
+ * tempo bloqueado no JDBC que as threads virtuais deveriam aproveitar.
+ * O perfil threads-virtuais só existe compilando com -Pthreads-virtuais (JDK 21); no JDK 17 use {@code -p perfil=default}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CargaHttpBenchmark {
+
+    private static final int MEDICOS = 100;
+
+    private static final int PRIMEIRO_MEDICO = 999_000;
+
+    @Param({"default", "threads-virtuais"})
+    private String perfil;
+
+    @Param({"16", "64", "256", "1024"})
+    private int clientes;
+
+    private ConfigurableApplicationContext contexto;
+
+    private HttpClient cliente;
+
+    private HttpRequest requisicao;
+
+    private final List<Long> idsMedicos = new ArrayList<>();
+
+    private Long idUsuario;
+
+    @Setup
+    public void setUp() {
+        if (perfil.equals("threads-virtuais")
+                && !ClassUtils.isPresent("med.voll.api.infra.threads.ThreadsVirtuaisConfigurations", null)) {
+            throw new IllegalStateException("Perfil threads-virtuais exige compilar com -Pjmh,threads-virtuais no JDK 21");
+        }
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        contexto = new SpringApplicationBuilder(ApiApplication.class)
+                .profiles(perfil)
+                .run(
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=warn",
+                        "--spring.jpa.show-sql=false");
+
+        for (int i = 0; i < MEDICOS; i++) {
+            idsMedicos.add(ContextoDeBenchmark.cadastrarMedico(contexto, PRIMEIRO_MEDICO + i, Especialidade.CARDIOLOGIA).getId());
+        }
+        var usuario = contexto.getBean(UsuarioRepository.class).save(new Usuario(null, "carga@voll.med", "senha"));
+        idUsuario = usuario.getId();
+
+        var porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/medicos?page=1&size=20"))
+                .header("Authorization", "Bearer " + contexto.getBean(TokenService.class).gerarToken(usuario))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.getBean(MedicoRepository.class).deleteAllById(idsMedicos);
+        idsMedicos.clear();
+        contexto.getBean(UsuarioRepository.class).deleteById(idUsuario);
+        contexto.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Respostas {
+        public long sucesso;
+        public long falha;
+    }
+
+    /**
+     * Uma rajada de {@code clientes} requisições simultâneas; o contador {@code sucesso} dá as requisições por segundo.
+     */
+    @Benchmark
+    public void rajada(Respostas respostas) {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<HttpResponse<Void>>[] futuros = new CompletableFuture[clientes];
+        for (int i = 0; i < clientes; i++) {
+            futuros[i] = cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(futuros).exceptionally(erro -> null).join();
+
+        for (var futuro : futuros) {
+            if (!futuro.isCompletedExceptionally() && futuro.join().statusCode() == 200) {
+                respostas.sucesso++;
+            } else {
+                respostas.falha++;
+            }
+        }
+    }
+}
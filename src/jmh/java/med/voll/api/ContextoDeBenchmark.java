@@ -0,0 +1,111 @@
+package med.voll.api;
+
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Clock;
+import java.util.stream.Stream;
+
+/**
+ * Sobe a aplicação sem servidor web sobre um H2 em memória, com o esquema gerado pelo Hibernate
+ * (as migrations usam recursos exclusivos do Postgres), ou sobre um Postgres recriado pelas migrations.
+ */
+public final class ContextoDeBenchmark {
+
+    private static final String URL_POSTGRES = "jdbc:postgresql://localhost:5432/postgres_benchmark";
+
+    private ContextoDeBenchmark() {
+    }
+
+    public static ConfigurableApplicationContext iniciar() {
+        return iniciar(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Sobe a aplicação com propriedades extras no formato {@code --nome=valor}, aplicadas depois das padrão.
+     */
+    public static ConfigurableApplicationContext iniciar(String... propriedades) {
+        return iniciar(Clock.systemDefaultZone(), propriedades);
+    }
+
+    /**
+     * Sobe a aplicação com o relógio informado no lugar do relógio do sistema, para simular a passagem do tempo.
+     */
+    public static ConfigurableApplicationContext iniciar(Clock relogio, String... propriedades) {
+        return iniciar(relogio, Stream.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create-drop"), propriedades);
+    }
+
+    /**
+     * Sobe a aplicação sobre o Postgres em {@code BENCHMARK_DATASOURCE_URL} (padrão: banco postgres_benchmark local),
+     * apagado e recriado pelas migrations a cada início: índices parciais, restrições de exclusão e sequências
+     * valem durante a medição como em produção.
+     */
+    public static ConfigurableApplicationContext iniciarNoPostgres(String... propriedades) {
+        var url = System.getenv().getOrDefault("BENCHMARK_DATASOURCE_URL", URL_POSTGRES);
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(contexto -> contexto.getBeanFactory().registerSingleton("recriarBanco",
+                        (FlywayMigrationStrategy) flyway -> {
+                            flyway.clean();
+                            flyway.migrate();
+                        }))
+                .run(argumentos(Stream.of(
+                        "--spring.datasource.url=" + url,
+                        "--spring.flyway.clean-disabled=false"), propriedades));
+    }
+
+    private static ConfigurableApplicationContext iniciar(Clock relogio, Stream<String> banco, String... propriedades) {
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(contexto -> contexto.getBeanFactory().registerSingleton("clock", relogio))
+                .run(argumentos(banco, propriedades));
+    }
+
+    // argumentos de linha de comando sobrepõem o application.properties
+    private static String[] argumentos(Stream<String> banco, String... propriedades) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return Stream.of(
+                        Stream.of("--spring.main.banner-mode=off", "--logging.level.root=warn", "--spring.jpa.show-sql=false"),
+                        banco,
+                        Stream.of(propriedades))
+                .flatMap(argumentos -> argumentos)
+                .toArray(String[]::new);
+    }
+
+    public static Medico cadastrarMedico(ConfigurableApplicationContext contexto, int numero, Especialidade especialidade) {
+        return contexto.getBean(MedicoRepository.class).save(new Medico(new DadosCadastroMedico("Medico " + numero,
+                "medico" + numero + "@voll.med", "61999999999", String.format("%06d", numero), especialidade, dadosEndereco())));
+    }
+
+    public static Paciente cadastrarPaciente(ConfigurableApplicationContext contexto, int numero) {
+        return contexto.getBean(PacienteRepository.class).save(new Paciente(new DadosCadastroPaciente("Paciente " + numero,
+                "paciente" + numero + "@email.com", "61999999999", String.format("%011d", numero), dadosEndereco())));
+    }
+
+    private static DadosEndereco dadosEndereco() {
+        return new DadosEndereco(
+                "rua xpto",
+                "1",
+                null,
+                "bairro",
+                "cidade xpto",
+                "sp",
+                "99880111"
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package med.voll.api;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.domain.consulta.Consulta;
+import med.voll.api.domain.consulta.ConsultaRepository;
+import med.voll.api.domain.consulta.DadosDetalhamentoConsulta;
+import med.voll.api.domain.medico.DadosListagemMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leituras de listagem e detalhamento carregando entidades e mapeando para DTO, como era feito,
+ * comparadas às projeções consultadas direto no repositório. Rode com {@code -prof gc} para ver as alocações por requisição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjecoesBenchmark {
+
+    private static final PageRequest PAGINA = PageRequest.of(5, 10, Sort.by("nome"));
+
+    private ConfigurableApplicationContext contexto;
+
+    private TransactionTemplate transactionTemplate;
+
+    private EntityManager em;
+
+    private MedicoRepository medicoRepository;
+
+    private ConsultaRepository consultaRepository;
+
+    private Long idConsulta;
+
+    @Setup
+    public void setUp() {
+        contexto = ContextoDeBenchmark.iniciar();
+        transactionTemplate = new TransactionTemplate(contexto.getBean(TransactionTemplate.class).getTransactionManager());
+        transactionTemplate.setReadOnly(true);
+        em = contexto.getBean(EntityManager.class);
+        medicoRepository = contexto.getBean(MedicoRepository.class);
+        consultaRepository = contexto.getBean(ConsultaRepository.class);
+
+        Medico medico = null;
+        for (int i = 1; i <= 200; i++) {
+            medico = ContextoDeBenchmark.cadastrarMedico(contexto, i, Especialidade.values()[i % Especialidade.values().length]);
+        }
+        var paciente = ContextoDeBenchmark.cadastrarPaciente(contexto, 1);
+        idConsulta = consultaRepository.save(new Consulta(null, medico, paciente, LocalDateTime.of(2030, 1, 7, 10, 0), null)).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<DadosListagemMedico> listarHidratandoEntidades() {
+        return transactionTemplate.execute(status -> {
+            em.createQuery("select count(m) from Medico m where m.ativo = true", Long.class).getSingleResult();
+            return em.createQuery("select m from Medico m where m.ativo = true order by m.nome", Medico.class)
+                    .setFirstResult((int) PAGINA.getOffset())
+                    .setMaxResults(PAGINA.getPageSize())
+                    .getResultStream()
+                    .map(DadosListagemMedico::new)
+                    .toList();
+        });
+    }
+
+    @Benchmark
+    public List<DadosListagemMedico> listarComProjecao() {
+        return transactionTemplate.execute(status -> medicoRepository.findAllByAtivoTrue(PAGINA).getContent());
+    }
+
+    @Benchmark
+    public List<DadosListagemMedico> listarPorCursorComProjecao() {
+        return transactionTemplate.execute(status -> medicoRepository
+                .findByAtivoTrueAposNomeEId("Medico 50", 0L, PageRequest.ofSize(PAGINA.getPageSize())).getContent());
+    }
+
+    @Benchmark
+    public DadosDetalhamentoConsulta detalharComReferencia() {
+        return transactionTemplate.execute(status -> new DadosDetalhamentoConsulta(consultaRepository.getReferenceById(idConsulta)));
+    }
+
+    @Benchmark
+    public DadosDetalhamentoConsulta detalharComProjecao() {
+        return transactionTemplate.execute(status -> consultaRepository.findDetalhamentoById(idConsulta).orElseThrow());
+    }
+}
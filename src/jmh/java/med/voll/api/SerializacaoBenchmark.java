@@ -0,0 +1,62 @@
+package med.voll.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import med.voll.api.domain.consulta.DadosDetalhamentoConsulta;
+import med.voll.api.domain.medico.DadosListagemMedico;
+import med.voll.api.domain.medico.Especialidade;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialização em JSON dos DTOs mais devolvidos pela API, com o mesmo ObjectMapper padrão do Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    private ObjectWriter writer;
+
+    private DadosListagemMedico medico;
+
+    private List<DadosListagemMedico> paginaDeMedicos;
+
+    private DadosDetalhamentoConsulta consulta;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        medico = dadosListagemMedico(1L);
+        paginaDeMedicos = LongStream.rangeClosed(1, 10).mapToObj(this::dadosListagemMedico).toList();
+        consulta = new DadosDetalhamentoConsulta(1L, 2L, 3L, LocalDateTime.of(2030, 1, 7, 10, 0));
+    }
+
+    @Benchmark
+    public String dadosListagemMedico() throws JsonProcessingException {
+        return writer.writeValueAsString(medico);
+    }
+
+    @Benchmark
+    public String paginaDadosListagemMedico() throws JsonProcessingException {
+        return writer.writeValueAsString(paginaDeMedicos);
+    }
+
+    @Benchmark
+    public String dadosDetalhamentoConsulta() throws JsonProcessingException {
+        return writer.writeValueAsString(consulta);
+    }
+
+    private DadosListagemMedico dadosListagemMedico(long id) {
+        return new DadosListagemMedico(id, "Medico " + id, "medico" + id + "@voll.med", String.format("%06d", id),
+                Especialidade.CARDIOLOGIA);
+    }
+}
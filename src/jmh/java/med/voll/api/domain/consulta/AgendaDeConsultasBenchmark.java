@@ -0,0 +1,87 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.ContextoDeBenchmark;
+import med.voll.api.domain.medico.Especialidade;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agendamento completo (bloqueio, cadeia de validadores, escolha do médico e inserção) sobre H2.
+ * Cada operação roda numa transação desfeita ao final, então todas encontram a mesma agenda.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AgendaDeConsultasBenchmark {
+
+    private static final int MEDICOS = 20;
+
+    private static final int CONSULTAS_POR_MEDICO = 50;
+
+    private ConfigurableApplicationContext contexto;
+
+    private AgendaDeConsultas agenda;
+
+    private TransactionTemplate transactionTemplate;
+
+    private DadosAgendamentoConsulta dadosComMedico;
+
+    private DadosAgendamentoConsulta dadosPorEspecialidade;
+
+    @Setup
+    public void setUp() {
+        contexto = ContextoDeBenchmark.iniciar();
+        agenda = contexto.getBean(AgendaDeConsultas.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var consultaRepository = contexto.getBean(ConsultaRepository.class);
+        var outroPaciente = ContextoDeBenchmark.cadastrarPaciente(contexto, 0);
+        Long idMedico = null;
+        for (int i = 1; i <= MEDICOS; i++) {
+            var medico = ContextoDeBenchmark.cadastrarMedico(contexto, i, Especialidade.CARDIOLOGIA);
+            idMedico = medico.getId();
+            for (int j = 0; j < CONSULTAS_POR_MEDICO; j++) {
+                consultaRepository.save(new Consulta(null, medico, outroPaciente,
+                        proximaSegundaAs10.plusDays(1 + j / 5).withHour(8 + (j % 5) * 2), null));
+            }
+        }
+        var paciente = ContextoDeBenchmark.cadastrarPaciente(contexto, 1);
+
+        dadosComMedico = new DadosAgendamentoConsulta(idMedico, null, paciente.getId(), proximaSegundaAs10);
+        dadosPorEspecialidade = new DadosAgendamentoConsulta(null, Especialidade.CARDIOLOGIA, paciente.getId(), proximaSegundaAs10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Consulta agendarComMedico() {
+        return agendarEDesfazer(dadosComMedico);
+    }
+
+    @Benchmark
+    public Consulta agendarPorEspecialidade() {
+        return agendarEDesfazer(dadosPorEspecialidade);
+    }
+
+    private Consulta agendarEDesfazer(DadosAgendamentoConsulta dados) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return agenda.agendar(dados);
+        });
+    }
+}
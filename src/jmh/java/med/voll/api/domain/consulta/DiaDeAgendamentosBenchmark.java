@@ -0,0 +1,112 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.ContextoDeBenchmark;
+import med.voll.api.domain.ValidacaoException;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.infra.tempo.RelogioAjustavel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static med.voll.api.domain.consulta.validacoes.agendamentos.ValidadorHorarioAntecedenciaAgendamento.ANTECEDENCIA_MINIMA_EM_MINUTOS;
+import static med.voll.api.domain.consulta.validacoes.agendamentos.ValidadorHorarioFuncionamento.HORA_ABERTURA;
+import static med.voll.api.domain.consulta.validacoes.agendamentos.ValidadorHorarioFuncionamento.HORA_FECHAMENTO;
+
+/**
+ * Um dia inteiro de agendamentos por especialidade em poucos milissegundos: o relógio da aplicação começa na
+ * abertura da clínica e avança {@code intervalo} a cada pedido, que é feito para a primeira hora cheia após a
+ * antecedência mínima. Cada iteração simula a segunda-feira seguinte à da iteração anterior.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DiaDeAgendamentosBenchmark {
+
+    private static final int MEDICOS = 10;
+
+    @Param({"5"})
+    private int intervaloEmMinutos;
+
+    private RelogioAjustavel relogio;
+
+    private ConfigurableApplicationContext contexto;
+
+    private AgendaDeConsultas agenda;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Long> idsPacientes = new ArrayList<>();
+
+    private LocalDate dia;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dia = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        relogio = new RelogioAjustavel(dia.atTime(HORA_ABERTURA, 0));
+        contexto = ContextoDeBenchmark.iniciar(relogio);
+        agenda = contexto.getBean(AgendaDeConsultas.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+
+        for (int i = 1; i <= MEDICOS; i++) {
+            ContextoDeBenchmark.cadastrarMedico(contexto, i, Especialidade.CARDIOLOGIA);
+        }
+        var pedidosPorDia = (HORA_FECHAMENTO - HORA_ABERTURA) * 60 / intervaloEmMinutos;
+        for (int i = 1; i <= pedidosPorDia; i++) {
+            idsPacientes.add(ContextoDeBenchmark.cadastrarPaciente(contexto, i).getId());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void proximoDia() {
+        dia = dia.plusWeeks(1);
+        relogio.ajustar(dia.atTime(HORA_ABERTURA, 0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Pedidos {
+        public long agendados;
+        public long recusados;
+    }
+
+    @Benchmark
+    public void simularDia(Pedidos pedidos) {
+        var fechamento = dia.atTime(HORA_FECHAMENTO, 0);
+        for (var idPaciente : idsPacientes) {
+            var horario = LocalDateTime.now(relogio)
+                    .plusMinutes(ANTECEDENCIA_MINIMA_EM_MINUTOS)
+                    .truncatedTo(ChronoUnit.HOURS)
+                    .plusHours(1);
+            if (!horario.isBefore(fechamento)) {
+                break;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> agenda.agendar(
+                        new DadosAgendamentoConsulta(null, Especialidade.CARDIOLOGIA, idPaciente, horario)));
+                pedidos.agendados++;
+            } catch (ValidacaoException exception) {
+                pedidos.recusados++;
+            }
+            relogio.avancar(Duration.ofMinutes(intervaloEmMinutos));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package med.voll.api.domain.consulta.validacoes.agendamentos;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.ContextoDeBenchmark;
+import med.voll.api.domain.consulta.Consulta;
+import med.voll.api.domain.consulta.ConsultaRepository;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.medico.Especialidade;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da validação de conflito do médico conforme a quantidade de consultas que ele possui, comparada com
+ * carregar as consultas do dia como entidades e procurar o conflito em memória. Roda no Postgres migrado pelo Flyway
+ * ({@link ContextoDeBenchmark#iniciarNoPostgres}), com o índice parcial idx_consultas_medico_id_data da V8.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidadorMedicoComOutraConsultaNoMesmoHorarioBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int consultasPorMedico;
+
+    private ConfigurableApplicationContext contexto;
+
+    private EntityManager em;
+
+    private ValidadorMedicoComOutraConsultaNoMesmoHorario validador;
+
+    private DadosAgendamentoConsulta dados;
+
+    @Setup
+    public void setUp() {
+        contexto = ContextoDeBenchmark.iniciarNoPostgres();
+        var repository = contexto.getBean(ConsultaRepository.class);
+        validador = new ValidadorMedicoComOutraConsultaNoMesmoHorario(repository);
+
+        var proximaSegundaAs8 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(8, 0);
+        var medico = ContextoDeBenchmark.cadastrarMedico(contexto, 1, Especialidade.CARDIOLOGIA);
+        var paciente = ContextoDeBenchmark.cadastrarPaciente(contexto, 1);
+        var consultas = new ArrayList<Consulta>();
+        for (int i = 0; i < consultasPorMedico; i++) {
+            consultas.add(new Consulta(null, medico, paciente, proximaSegundaAs8.plusDays(i / 5).plusHours((i % 5) * 2L), null));
+        }
+        repository.saveAll(consultas);
+        // estatísticas atualizadas, para o planejador escolher o índice como faria com a tabela já em uso
+        contexto.getBean(JdbcTemplate.class).execute("analyze consultas");
+
+        dados = new DadosAgendamentoConsulta(medico.getId(), null, paciente.getId(),
+                proximaSegundaAs8.plusDays(consultasPorMedico / 10).plusHours(1).plusMinutes(30));
+        em = contexto.getBean(EntityManager.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    /**
+     * Fora de uma transação cada consulta abre o próprio contexto de persistência, então nenhuma entidade fica em cache
+     * entre as invocações.
+     */
+    @Benchmark
+    public boolean carregandoEntidades() {
+        return em.createQuery("select c from Consulta c where c.medico.id = :id and c.data between :inicio and :fim", Consulta.class)
+                .setParameter("id", dados.idMedico())
+                .setParameter("inicio", dados.data().withHour(1))
+                .setParameter("fim", dados.data().withHour(23))
+                .getResultList()
+                .stream()
+                .anyMatch(c -> c.getMotivoCancelamento() == null
+                        && !dados.data().isAfter(c.getData().plusHours(1))
+                        && !dados.data().isBefore(c.getData().minusHours(1)));
+    }
+
+    @Benchmark
+    public RuntimeException consultaDeExistencia() {
+        try {
+            validador.validar(dados);
+            return null;
+        } catch (RuntimeException exception) {
+            return exception;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package med.voll.api.domain.consulta.validacoes.agendamentos;
+
+import med.voll.api.ContextoDeBenchmark;
+import med.voll.api.domain.consulta.Consulta;
+import med.voll.api.domain.consulta.ConsultaRepository;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.infra.tempo.RelogioEmCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de cada validador de agendamento isoladamente; os que consultam o banco usam o H2.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidadoresAgendamentoBenchmark {
+
+    private ConfigurableApplicationContext contexto;
+
+    private final ValidadorHorarioFuncionamento horarioFuncionamento = new ValidadorHorarioFuncionamento();
+
+    private final ValidadorHorarioAntecedenciaAgendamento horarioAntecedencia =
+            new ValidadorHorarioAntecedenciaAgendamento(Clock.systemDefaultZone());
+
+    private final RelogioEmCache relogioEmCache = new RelogioEmCache(Clock.systemDefaultZone(), Duration.ofMillis(10));
+
+    private final ValidadorHorarioAntecedenciaAgendamento horarioAntecedenciaComRelogioEmCache =
+            new ValidadorHorarioAntecedenciaAgendamento(relogioEmCache);
+
+    private ValidadorPacienteSemOutraConsultaNoDia pacienteSemOutraConsultaNoDia;
+
+    private ValidadorMedicoComOutraConsultaNoMesmoHorario medicoComOutraConsultaNoMesmoHorario;
+
+    private DadosAgendamentoConsulta dados;
+
+    private DadosAgendamentoConsulta dadosNoDomingo;
+
+    @Setup
+    public void setUp() {
+        contexto = ContextoDeBenchmark.iniciar();
+        var consultaRepository = contexto.getBean(ConsultaRepository.class);
+        pacienteSemOutraConsultaNoDia = new ValidadorPacienteSemOutraConsultaNoDia(consultaRepository);
+        medicoComOutraConsultaNoMesmoHorario = new ValidadorMedicoComOutraConsultaNoMesmoHorario(consultaRepository);
+
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = ContextoDeBenchmark.cadastrarMedico(contexto, 1, Especialidade.CARDIOLOGIA);
+        var paciente = ContextoDeBenchmark.cadastrarPaciente(contexto, 1);
+        for (int i = 0; i < 50; i++) {
+            consultaRepository.save(new Consulta(null, medico, paciente,
+                    proximaSegundaAs10.plusDays(1 + i / 5).withHour(8 + (i % 5) * 2), null));
+        }
+
+        dados = new DadosAgendamentoConsulta(medico.getId(), null, paciente.getId(), proximaSegundaAs10);
+        dadosNoDomingo = new DadosAgendamentoConsulta(medico.getId(), null, paciente.getId(), proximaSegundaAs10.minusDays(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        relogioEmCache.close();
+        contexto.close();
+    }
+
+    @Benchmark
+    public void horarioFuncionamento() {
+        horarioFuncionamento.validar(dados);
+    }
+
+    @Benchmark
+    public RuntimeException horarioFuncionamentoRejeitando() {
+        try {
+            horarioFuncionamento.validar(dadosNoDomingo);
+            return null;
+        } catch (RuntimeException exception) {
+            return exception;
+        }
+    }
+
+    @Benchmark
+    public void horarioAntecedencia() {
+        horarioAntecedencia.validar(dados);
+    }
+
+    @Benchmark
+    public void horarioAntecedenciaComRelogioEmCache() {
+        horarioAntecedenciaComRelogioEmCache.validar(dados);
+    }
+
+    @Benchmark
+    public void pacienteSemOutraConsultaNoDia() {
+        pacienteSemOutraConsultaNoDia.validar(dados);
+    }
+
+    @Benchmark
+    public void medicoComOutraConsultaNoMesmoHorario() {
+        medicoComOutraConsultaNoMesmoHorario.validar(dados);
+    }
+}
@@ -0,0 +1,82 @@
+package med.voll.api.domain.medico;
+
+import med.voll.api.ContextoDeBenchmark;
+import med.voll.api.domain.endereco.DadosEndereco;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Médicos gravados por segundo num {@code saveAll} de {@value #CADASTROS} cadastros por transação, no Postgres
+ * migrado pelo Flyway ({@link ContextoDeBenchmark#iniciarNoPostgres}). {@code IDENTITY} é o mapeamento anterior
+ * à V13: um insert por médico, cada um devolvendo o id gerado pelo banco. Com {@code SEQUENCIA} os ids são
+ * reservados em blocos de 50 na sequência, mas cada insert ainda é um comando isolado; com
+ * {@code SEQUENCIA_EM_LOTE} o Hibernate agrupa os inserts de 50 em 50.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CadastroEmLoteBenchmark {
+
+    private static final int CADASTROS = 500;
+
+    public enum Mapeamento {
+        IDENTITY(1, "META-INF/medico-identity.xml"),
+        SEQUENCIA(1, ""),
+        SEQUENCIA_EM_LOTE(50, "");
+
+        private final int tamanhoDoLote;
+
+        private final String mapeamentoXml;
+
+        Mapeamento(int tamanhoDoLote, String mapeamentoXml) {
+            this.tamanhoDoLote = tamanhoDoLote;
+            this.mapeamentoXml = mapeamentoXml;
+        }
+    }
+
+    @Param
+    private Mapeamento mapeamento;
+
+    private ConfigurableApplicationContext contexto;
+
+    private MedicoRepository repository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private int sequencia;
+
+    @Setup
+    public void setUp() {
+        contexto = ContextoDeBenchmark.iniciarNoPostgres(
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + mapeamento.tamanhoDoLote,
+                "--spring.jpa.mapping-resources=" + mapeamento.mapeamentoXml);
+        repository = contexto.getBean(MedicoRepository.class);
+        transactionTemplate = contexto.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CADASTROS)
+    public int cadastrar() {
+        var medicos = new ArrayList<Medico>(CADASTROS);
+        for (int i = 0; i < CADASTROS; i++) {
+            var numero = ++sequencia;
+            medicos.add(new Medico(new DadosCadastroMedico("Medico " + numero, "medico" + numero + "@voll.med",
+                    "61999999999", String.valueOf(numero), Especialidade.CARDIOLOGIA,
+                    new DadosEndereco("rua xpto", "1", null, "bairro", "cidade xpto", "sp", "99880111"))));
+        }
+
+        return transactionTemplate.execute(status -> repository.saveAll(medicos).size());
+    }
+}
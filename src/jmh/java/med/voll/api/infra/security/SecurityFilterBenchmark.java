@@ -0,0 +1,86 @@
+package med.voll.api.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.domain.usuario.UsuarioRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sobrecarga do {@link SecurityFilter} por requisição, com o repositório de usuários substituído por um stub em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    private SecurityFilter filtro;
+
+    private CacheDeAutenticacao cacheDeAutenticacao;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        var usuario = new Usuario(1L, "ana.souza@voll.med", "senha");
+        var repository = (UsuarioRepository) Proxy.newProxyInstance(UsuarioRepository.class.getClassLoader(),
+                new Class<?>[]{UsuarioRepository.class}, (proxy, metodo, argumentos) -> {
+                    if (metodo.getName().equals("findByLogin")) {
+                        return usuario.getLogin().equals(argumentos[0]) ? usuario : null;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+        var tokenService = new TokenService("12345678", "1", Clock.systemUTC());
+        cacheDeAutenticacao = new CacheDeAutenticacao(10_000, Clock.systemUTC());
+
+        filtro = new SecurityFilter();
+        ReflectionTestUtils.setField(filtro, "tokenService", tokenService);
+        ReflectionTestUtils.setField(filtro, "repository", repository);
+        ReflectionTestUtils.setField(filtro, "cacheDeAutenticacao", cacheDeAutenticacao);
+        ReflectionTestUtils.setField(filtro, "registry", new SimpleMeterRegistry());
+        token = tokenService.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse semToken() throws Exception {
+        return filtrar(new MockHttpServletRequest("GET", "/medicos"));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse tokenEmCache() throws Exception {
+        return filtrar(requisicaoAutenticada());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse tokenForaDoCache() throws Exception {
+        cacheDeAutenticacao.invalidarToken(token);
+        return filtrar(requisicaoAutenticada());
+    }
+
+    private MockHttpServletRequest requisicaoAutenticada() {
+        var request = new MockHttpServletRequest("GET", "/medicos");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private MockHttpServletResponse filtrar(MockHttpServletRequest request) throws Exception {
+        var response = new MockHttpServletResponse();
+        try {
+            filtro.doFilter(request, response, new MockFilterChain());
+            return response;
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
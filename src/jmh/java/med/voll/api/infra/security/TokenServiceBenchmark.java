@@ -0,0 +1,66 @@
+package med.voll.api.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import med.voll.api.domain.usuario.Usuario;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de assinar e verificar tokens recriando o algoritmo e o verificador a cada chamada (como era feito)
+ * comparado às instâncias reaproveitadas do {@link TokenService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SENHA = "12345678";
+
+    private final Usuario usuario = new Usuario(1L, "ana.souza@voll.med", "senha");
+
+    private TokenService service;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        service = new TokenService(SENHA, "1", Clock.systemUTC());
+        token = service.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarRecriandoAlgoritmo() {
+        return JWT.create()
+                .withIssuer("API Voll.med")
+                .withSubject(usuario.getUsername())
+                .withClaim("id", usuario.getId())
+                .withExpiresAt(Instant.now().plusSeconds(7200))
+                .sign(Algorithm.HMAC256(SENHA));
+    }
+
+    @Benchmark
+    public String gerarReaproveitandoAlgoritmo() {
+        return service.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String verificarRecriandoVerificador() {
+        return JWT.require(Algorithm.HMAC256(SENHA))
+                .withIssuer("API Voll.med")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public String verificarReaproveitandoVerificador() {
+        return service.getSubject(token);
+    }
+}
@@ -1,28 +1,50 @@
 package med.voll.api.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import med.voll.api.domain.consulta.*;
+import med.voll.api.domain.consulta.fila.DadosSolicitacaoAgendamento;
+import med.voll.api.infra.exportacao.ExportadorNdjson;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("consultas")
 @SecurityRequirement(name = "bearer-key")
 public class ConsultaController {
 
+    private static final String MODO_ASSINCRONO = "assincrono";
+
     @Autowired
     private AgendaDeConsultas agenda;
 
     @Autowired
     private ConsultaRepository repository;
 
+    @Autowired
+    private ExportadorNdjson exportador;
+
+    @Value("${api.agenda.modo:sincrono}")
+    private String modo;
+
+    // a transação é aberta pela AgendaDeConsultas, depois dos bloqueios de agenda
     @PostMapping
-    @Transactional
     public ResponseEntity agendar(@RequestBody @Valid DadosAgendamentoConsulta dados, UriComponentsBuilder builder) {
+        if (MODO_ASSINCRONO.equals(modo)) {
+            var solicitacao = agenda.solicitar(dados);
+            var uri = builder.path("/consultas/solicitacoes/{ticket}").buildAndExpand(solicitacao.ticket()).toUri();
+            return ResponseEntity.accepted().location(uri).body(solicitacao);
+        }
+
         var consulta = agenda.agendar(dados);
 
         var uri = builder.path("/consultas/{id}").buildAndExpand(consulta.getId()).toUri();
@@ -30,6 +52,12 @@ public class ConsultaController {
         return ResponseEntity.created(uri).body(new DadosDetalhamentoConsulta(consulta));
     }
 
+    @PostMapping("/lote")
+    public ResponseEntity agendarLote(@RequestBody @Valid DadosAgendamentoLote dados) {
+        var resultados = agenda.agendarLote(dados.consultas());
+        return ResponseEntity.ok(resultados);
+    }
+
     @DeleteMapping
     @Transactional
     public ResponseEntity cancelar(@RequestBody @Valid DadosCancelamentoConsulta dados) {
@@ -37,10 +65,23 @@ public class ConsultaController {
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/solicitacoes/{ticket}")
+    public ResponseEntity<DadosSolicitacaoAgendamento> acompanhar(@PathVariable UUID ticket) {
+        var solicitacao = agenda.buscarSolicitacao(ticket).orElseThrow(EntityNotFoundException::new);
+        return ResponseEntity.ok(solicitacao);
+    }
+
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity detalhar(@PathVariable Long id) {
-        var consulta = repository.getReferenceById(id);
-        return ResponseEntity.ok(new DadosDetalhamentoConsulta(consulta));
+        var consulta = repository.findDetalhamentoById(id).orElseThrow(EntityNotFoundException::new);
+        return ResponseEntity.ok(consulta);
+    }
+
+    @GetMapping(value = "/exportacao", produces = ExportadorNdjson.APPLICATION_NDJSON)
+    @Transactional(readOnly = true)
+    public void exportar(HttpServletResponse response) throws IOException {
+        exportador.exportar(repository.exportarAgendadas(), response);
     }
 
 }
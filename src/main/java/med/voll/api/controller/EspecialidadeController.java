@@ -0,0 +1,32 @@
+package med.voll.api.controller;
+
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import med.voll.api.domain.consulta.CalendarioDeHorariosLivres;
+import med.voll.api.domain.consulta.DadosHorariosLivresEspecialidade;
+import med.voll.api.domain.medico.Especialidade;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("especialidades")
+@SecurityRequirement(name = "bearer-key")
+public class EspecialidadeController {
+
+    @Autowired
+    private CalendarioDeHorariosLivres calendario;
+
+    @Autowired
+    private Clock clock;
+
+    @GetMapping("/{especialidade}/horarios-livres")
+    public ResponseEntity<DadosHorariosLivresEspecialidade> horariosLivres(@PathVariable Especialidade especialidade,
+                                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate semana) {
+        var horarios = calendario.horariosLivres(especialidade, semana != null ? semana : LocalDate.now(clock));
+        return ResponseEntity.ok(horarios);
+    }
+}
@@ -1,63 +1,100 @@
 package med.voll.api.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.transaction.Transactional;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import med.voll.api.domain.consulta.CalendarioDeHorariosLivres;
+import med.voll.api.domain.consulta.DadosAgendaMedico;
 import med.voll.api.domain.medico.*;
+import med.voll.api.infra.exportacao.ExportadorNdjson;
+import med.voll.api.infra.importacao.DadosResultadoImportacao;
+import med.voll.api.infra.importacao.ImportadorDeCadastros;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("medicos")
 @SecurityRequirement(name = "bearer-key")
 public class MedicoController {
 
     @Autowired
-    private MedicoRepository repository;
+    private MedicoService service;
+
+    @Autowired
+    private ExportadorNdjson exportador;
+
+    @Autowired
+    private CalendarioDeHorariosLivres calendario;
+
+    @Autowired
+    private Clock clock;
 
     @PostMapping
-    @Transactional
     public ResponseEntity cadastrar(@RequestBody @Valid DadosCadastroMedico dados, UriComponentsBuilder builder) {
-        var medico = new Medico(dados);
-        repository.save(medico);
+        var medico = service.cadastrar(dados);
 
         var uri = builder.path("/medicos/{id}").buildAndExpand(medico.getId()).toUri();
 
         return ResponseEntity.created(uri).body(new DadosDetalhamentoMedico(medico));
     }
 
+    @PostMapping(value = "/importacao", consumes = {ExportadorNdjson.APPLICATION_NDJSON, ImportadorDeCadastros.TEXT_CSV})
+    public ResponseEntity<DadosResultadoImportacao> importar(HttpServletRequest request) throws IOException {
+        var resultado = service.importar(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping
-    public ResponseEntity<Page<DadosListagemMedico>> listar(@PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao) {
-        var page = repository.findAllByAtivoTrue(paginacao).map(DadosListagemMedico::new);
-        return ResponseEntity.ok(page);
+    public ResponseEntity<Slice<DadosListagemMedico>> listar(@PageableDefault(size = 10, sort = {"nome"}) Pageable paginacao,
+                                                             @RequestParam(required = false) String after) {
+        if (after == null) {
+            var page = service.listar(paginacao);
+            return ResponseEntity.ok(page);
+        }
+
+        var slice = service.listar(after, paginacao.getPageSize());
+        return ResponseEntity.ok(slice);
+    }
+
+    @GetMapping(value = "/exportacao", produces = ExportadorNdjson.APPLICATION_NDJSON)
+    @Transactional(readOnly = true)
+    public void exportar(HttpServletResponse response) throws IOException {
+        exportador.exportar(service.exportarAtivos(), response);
     }
 
     @PutMapping
-    @Transactional
     public ResponseEntity atualizar(@RequestBody @Valid DadosAtualizacaoMedico dados) {
-        var medico = repository.getReferenceById(dados.id());
-        medico.atualizarInformacoes(dados);
-
-        return ResponseEntity.ok(new DadosDetalhamentoMedico(medico));
+        return ResponseEntity.ok(service.atualizar(dados));
     }
 
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity excluir(@PathVariable Long id) {
-        var medico = repository.getReferenceById(id);
-        medico.excluir();
+        service.excluir(id);
 
         return ResponseEntity.noContent().build();
     }
 
+    @GetMapping("/{id}/agenda")
+    public ResponseEntity<DadosAgendaMedico> agenda(@PathVariable Long id, @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate semana) {
+        var agenda = calendario.agendaDoMedico(id, semana != null ? semana : LocalDate.now(clock));
+        return ResponseEntity.ok(agenda);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity detalhar(@PathVariable Long id) {
-        var medico = repository.getReferenceById(id);
-        return ResponseEntity.ok(new DadosDetalhamentoMedico(medico));
+        return ResponseEntity.ok(service.detalhar(id));
     }
 }
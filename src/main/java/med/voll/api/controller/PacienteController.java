@@ -1,63 +1,83 @@
 package med.voll.api.controller;
 
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
-import jakarta.transaction.Transactional;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import med.voll.api.domain.paciente.*;
+import med.voll.api.infra.exportacao.ExportadorNdjson;
+import med.voll.api.infra.importacao.DadosResultadoImportacao;
+import med.voll.api.infra.importacao.ImportadorDeCadastros;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("pacientes")
 @SecurityRequirement(name = "bearer-key")
 public class PacienteController {
 
     @Autowired
-    private PacienteRepository repository;
+    private PacienteService service;
+
+    @Autowired
+    private ExportadorNdjson exportador;
 
     @PostMapping
-    @Transactional
     public ResponseEntity cadastrar(@RequestBody @Valid DadosCadastroPaciente dados, UriComponentsBuilder builder) {
-        var paciente = new Paciente(dados);
-        repository.save(paciente);
+        var paciente = service.cadastrar(dados);
 
         var uri = builder.path("/pacientes/{id}").buildAndExpand(paciente.getId()).toUri();
 
         return ResponseEntity.created(uri).body(new DadosDetalhamentoPaciente(paciente));
     }
 
+    @PostMapping(value = "/importacao", consumes = {ExportadorNdjson.APPLICATION_NDJSON, ImportadorDeCadastros.TEXT_CSV})
+    public ResponseEntity<DadosResultadoImportacao> importar(HttpServletRequest request) throws IOException {
+        var resultado = service.importar(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
+        return ResponseEntity.ok(resultado);
+    }
+
     @GetMapping
-    public ResponseEntity<Page<DadosListagemPaciente>> listar(@PageableDefault(size = 10, sort = {"nome"})Pageable pageable) {
-        var page = repository.findAllByAtivoTrue(pageable).map(DadosListagemPaciente::new);
-        return ResponseEntity.ok(page);
+    public ResponseEntity<Slice<DadosListagemPaciente>> listar(@PageableDefault(size = 10, sort = {"nome"})Pageable pageable,
+                                                               @RequestParam(required = false) String after) {
+        if (after == null) {
+            var page = service.listar(pageable);
+            return ResponseEntity.ok(page);
+        }
+
+        var slice = service.listar(after, pageable.getPageSize());
+        return ResponseEntity.ok(slice);
+    }
+
+    @GetMapping(value = "/exportacao", produces = ExportadorNdjson.APPLICATION_NDJSON)
+    @Transactional(readOnly = true)
+    public void exportar(HttpServletResponse response) throws IOException {
+        exportador.exportar(service.exportarAtivos(), response);
     }
 
     @PutMapping
-    @Transactional
     public ResponseEntity atualizar(@RequestBody @Valid DadosAtualizacaoPaciente dados) {
-        var paciente = repository.getReferenceById(dados.id());
-        paciente.atualizarInformacoes(dados);
-
-        return ResponseEntity.ok(new DadosDetalhamentoPaciente(paciente));
+        return ResponseEntity.ok(service.atualizar(dados));
     }
 
     @DeleteMapping("/{id}")
-    @Transactional
     public ResponseEntity excluir(@PathVariable Long id) {
-        var paciente = repository.getReferenceById(id);
-        paciente.excluir();
+        service.excluir(id);
 
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{id}")
     public ResponseEntity detalhar(@PathVariable Long id) {
-        var paciente = repository.getReferenceById(id);
-        return ResponseEntity.ok(new DadosDetalhamentoPaciente(paciente));
+        return ResponseEntity.ok(service.detalhar(id));
     }
 }
@@ -0,0 +1,11 @@
+package med.voll.api.domain;
+
+/**
+ * A agenda do médico/paciente está bloqueada por outra operação além do tempo máximo de espera; pode ser repetida.
+ */
+public class AgendaOcupadaException extends ValidacaoException {
+
+    public AgendaOcupadaException() {
+        super(CodigoDeErro.AGENDA_OCUPADA, "Agenda ocupada por outra operação, tente novamente");
+    }
+}
@@ -0,0 +1,20 @@
+package med.voll.api.domain;
+
+/**
+ * Códigos estáveis devolvidos junto com a mensagem de erro, para que os clientes não dependam do texto.
+ */
+public enum CodigoDeErro {
+    HORARIO_FORA_DO_FUNCIONAMENTO,
+    ANTECEDENCIA_MINIMA_AGENDAMENTO,
+    ANTECEDENCIA_MINIMA_CANCELAMENTO,
+    MEDICO_COM_CONSULTA_NO_INTERVALO,
+    PACIENTE_COM_CONSULTA_NO_DIA,
+    PACIENTE_OU_MEDICO_INDISPONIVEL,
+    ESPECIALIDADE_OBRIGATORIA,
+    SEM_MEDICO_DISPONIVEL,
+    CONSULTA_NAO_ENCONTRADA,
+    AGENDA_OCUPADA,
+    CURSOR_INVALIDO,
+    ARQUIVO_INVALIDO,
+    TENTATIVAS_ESGOTADAS
+}
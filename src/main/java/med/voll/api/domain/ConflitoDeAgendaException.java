@@ -0,0 +1,11 @@
+package med.voll.api.domain;
+
+/**
+ * O horário pedido conflita com uma consulta já agendada para o médico ou para o paciente.
+ */
+public class ConflitoDeAgendaException extends ValidacaoException {
+
+    public ConflitoDeAgendaException(CodigoDeErro codigo, String mensagem) {
+        super(codigo, mensagem);
+    }
+}
@@ -0,0 +1,8 @@
+package med.voll.api.domain;
+
+public class RegistroNaoEncontradoException extends ValidacaoException {
+
+    public RegistroNaoEncontradoException(CodigoDeErro codigo, String mensagem) {
+        super(codigo, mensagem);
+    }
+}
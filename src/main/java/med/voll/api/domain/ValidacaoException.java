@@ -0,0 +1,19 @@
+package med.voll.api.domain;
+
+/**
+ * Violação esperada de uma regra de negócio. Não preenche o stack trace: em rejeições frequentes ele
+ * custaria CPU sem ajudar no diagnóstico, já que a causa está no código e na mensagem.
+ */
+public class ValidacaoException extends RuntimeException {
+
+    private final CodigoDeErro codigo;
+
+    public ValidacaoException(CodigoDeErro codigo, String mensagem) {
+        super(mensagem, null, false, false);
+        this.codigo = codigo;
+    }
+
+    public CodigoDeErro getCodigo() {
+        return codigo;
+    }
+}
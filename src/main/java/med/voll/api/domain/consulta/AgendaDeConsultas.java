@@ -1,71 +1,289 @@
 package med.voll.api.domain.consulta;
 
+import med.voll.api.domain.AgendaOcupadaException;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ConflitoDeAgendaException;
+import med.voll.api.domain.RegistroNaoEncontradoException;
+import med.voll.api.domain.ValidacaoException;
+import med.voll.api.domain.consulta.fila.DadosSolicitacaoAgendamento;
+import med.voll.api.domain.consulta.fila.FilaDeAgendamentos;
 import med.voll.api.domain.consulta.validacoes.agendamentos.ValidadorAgendamentoDeConsulta;
 import med.voll.api.domain.consulta.validacoes.cancelamentos.ValidadorCancelamentoDeConsulta;
-import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoAtivo;
 import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.medico.MedicoService;
 import med.voll.api.domain.paciente.PacienteRepository;
+import med.voll.api.domain.paciente.PacienteService;
+import med.voll.api.infra.bloqueio.BloqueioDeAgenda;
+import med.voll.api.infra.metricas.MedidorDeValidacoes;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static med.voll.api.infra.metricas.MedidorDeValidacoes.AGENDAMENTO;
+import static med.voll.api.infra.metricas.MedidorDeValidacoes.CANCELAMENTO;
 
 @Service
 public class AgendaDeConsultas {
 
+    private static final String RESTRICAO_HORARIO_MEDICO = "consultas_medico_horario_excl";
+
     @Autowired
     private ConsultaRepository consultaRepository;
 
+    @Autowired
+    private ConsultaLoteRepository consultaLoteRepository;
+
     @Autowired
     private MedicoRepository medicoRepository;
 
     @Autowired
     private PacienteRepository pacienteRepository;
 
+    @Autowired
+    private MedicoService medicoService;
+
+    @Autowired
+    private PacienteService pacienteService;
+
+    @Autowired
+    private IndiceDeHorariosLivres indiceDeHorariosLivres;
+
+    @Autowired
+    private CalendarioDeHorariosLivres calendarioDeHorariosLivres;
+
+    @Autowired
+    private BloqueioDeAgenda bloqueioDeAgenda;
+
+    @Autowired
+    private FilaDeAgendamentos filaDeAgendamentos;
+
+    @Autowired
+    private MedidorDeValidacoes medidorDeValidacoes;
+
     @Autowired
     private List<ValidadorAgendamentoDeConsulta> validadoresAgendamento;
 
     @Autowired
     private List<ValidadorCancelamentoDeConsulta> validadoresCancelamento;
 
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Os bloqueios de agenda são tomados antes da transação ({@link BloqueioDeAgenda#antesDaTransacao}): quem
+     * espera por um médico ou paciente ocupado não segura uma conexão do pool.
+     */
     public Consulta agendar(DadosAgendamentoConsulta dados) {
-        validadoresAgendamento.forEach(v -> v.validar(dados));
+        var idsMedicos = dados.idMedico() != null ? List.of(dados.idMedico()) : List.<Long>of();
+        var idsPacientes = List.of(dados.idPaciente());
+        return bloqueioDeAgenda.antesDaTransacao(idsMedicos, idsPacientes,
+                () -> transactionTemplate.execute(status -> agendar(dados, idsMedicos, idsPacientes)));
+    }
+
+    private Consulta agendar(DadosAgendamentoConsulta dados, List<Long> idsMedicos, List<Long> idsPacientes) {
+        bloqueioDeAgenda.bloquear(idsMedicos, idsPacientes);
+        validadoresAgendamento.forEach(v -> medidorDeValidacoes.validar(AGENDAMENTO, v, () -> v.validar(dados)));
 
         try {
-            var paciente = pacienteRepository.findAtivoById(dados.idPaciente()).orElseThrow();
+            var idPaciente = pacienteService.findIdAtivoById(dados.idPaciente()).orElseThrow();
             var medico = escolherMedico(dados);
-            var consulta = new Consulta(null, medico, paciente, dados.data(), null);
-            return consultaRepository.save(consulta);
+            var consulta = salvar(new Consulta(null, medicoRepository.getReferenceById(medico.id()),
+                    pacienteRepository.getReferenceById(idPaciente), dados.data(), null));
+            indiceDeHorariosLivres.ocupar(medico.especialidade(), consulta.getData(), medico.id());
+            calendarioDeHorariosLivres.invalidar(medico.especialidade(), medico.id(), consulta.getData());
+            return consulta;
         } catch (NoSuchElementException exception) {
-            throw new RuntimeException("Paciente/médico está inativo ou não foi encontrado");
+            throw new ValidacaoException(CodigoDeErro.PACIENTE_OU_MEDICO_INDISPONIVEL, "Paciente/médico está inativo ou não foi encontrado");
+        }
+    }
+
+    /**
+     * Modo assíncrono: só registra a solicitação, que é validada e gravada depois pelo ProcessadorDeSolicitacoes.
+     */
+    @Transactional
+    public DadosSolicitacaoAgendamento solicitar(DadosAgendamentoConsulta dados) {
+        var ticket = filaDeAgendamentos.enfileirar(dados);
+        return filaDeAgendamentos.buscar(ticket).orElseThrow();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<DadosSolicitacaoAgendamento> buscarSolicitacao(UUID ticket) {
+        return filaDeAgendamentos.buscar(ticket);
+    }
+
+    public List<DadosResultadoAgendamento> agendarLote(List<DadosAgendamentoConsulta> lote) {
+        var idsPacientes = lote.stream().map(DadosAgendamentoConsulta::idPaciente).collect(Collectors.toSet());
+        var idsMedicos = lote.stream().map(DadosAgendamentoConsulta::idMedico).filter(Objects::nonNull).collect(Collectors.toSet());
+        return bloqueioDeAgenda.antesDaTransacao(idsMedicos, idsPacientes,
+                () -> transactionTemplate.execute(status -> agendarLote(lote, idsMedicos, idsPacientes)));
+    }
+
+    private List<DadosResultadoAgendamento> agendarLote(List<DadosAgendamentoConsulta> lote, Set<Long> idsMedicos, Set<Long> idsPacientes) {
+        bloqueioDeAgenda.bloquear(idsMedicos, idsPacientes);
+        var pacientes = pacienteService.findIdsAtivosById(idsPacientes);
+        var medicos = medicoService.findAllAtivosById(idsMedicos);
+
+        var erros = validarLote(lote);
+        var conflitos = new ConflitosDoLote();
+
+        var resultados = new DadosResultadoAgendamento[lote.size()];
+        var posicoes = new ArrayList<Integer>();
+        var escolhidos = new ArrayList<MedicoAtivo>();
+        var consultas = new ArrayList<Consulta>();
+        for (int i = 0; i < lote.size(); i++) {
+            var dados = lote.get(i);
+            if (erros.containsKey(i)) {
+                resultados[i] = DadosResultadoAgendamento.erro(i, erros.get(i));
+                continue;
+            }
+
+            try {
+                conflitos.validarPaciente(dados);
+
+                if (!pacientes.contains(dados.idPaciente())) {
+                    throw new NoSuchElementException();
+                }
+                var medico = dados.idMedico() != null
+                        ? Optional.ofNullable(medicos.get(dados.idMedico())).orElseThrow()
+                        : escolherMedico(dados);
+                conflitos.validarMedico(medico.id(), dados.data());
+
+                conflitos.registrar(dados.idPaciente(), medico.id(), dados.data());
+                posicoes.add(i);
+                escolhidos.add(medico);
+                consultas.add(new Consulta(null, medicoRepository.getReferenceById(medico.id()),
+                        pacienteRepository.getReferenceById(dados.idPaciente()), dados.data(), null));
+            } catch (NoSuchElementException exception) {
+                resultados[i] = DadosResultadoAgendamento.erro(i, new ValidacaoException(
+                        CodigoDeErro.PACIENTE_OU_MEDICO_INDISPONIVEL, "Paciente/médico está inativo ou não foi encontrado"));
+            } catch (ValidacaoException exception) {
+                resultados[i] = DadosResultadoAgendamento.erro(i, exception);
+            }
+        }
+
+        var insercoes = consultaLoteRepository.inserirTodas(consultas);
+        for (int i = 0; i < insercoes.size(); i++) {
+            var insercao = insercoes.get(i);
+            var posicao = posicoes.get(i);
+            if (insercao.violacao() != null) {
+                // só o item que violou a restrição é recusado, como no ProcessadorDeSolicitacoes
+                resultados[posicao] = DadosResultadoAgendamento.erro(posicao, traduzirConflito(insercao.violacao()));
+                continue;
+            }
+
+            var consulta = insercao.consulta();
+            var medico = escolhidos.get(i);
+            indiceDeHorariosLivres.ocupar(medico.especialidade(), consulta.getData(), medico.id());
+            calendarioDeHorariosLivres.invalidar(medico.especialidade(), medico.id(), consulta.getData());
+            resultados[posicao] = DadosResultadoAgendamento.sucesso(posicao, consulta);
+        }
+
+        return Arrays.asList(resultados);
+    }
+
+    /**
+     * Com ids de sequência o insert só iria no commit, fora deste try; o flush faz a restrição de horário do médico
+     * ser verificada aqui, onde é traduzida.
+     */
+    private Consulta salvar(Consulta consulta) {
+        try {
+            return consultaRepository.saveAndFlush(consulta);
+        } catch (DataIntegrityViolationException exception) {
+            throw traduzirViolacao(exception);
         }
     }
 
+    private ValidacaoException traduzirConflito(DataIntegrityViolationException violacao) {
+        if (traduzirViolacao(violacao) instanceof ValidacaoException conflito) {
+            return conflito;
+        }
+        throw violacao;
+    }
+
+    private RuntimeException traduzirViolacao(DataIntegrityViolationException exception) {
+        var mensagem = exception.getMostSpecificCause().getMessage();
+        if (mensagem != null && mensagem.contains(RESTRICAO_HORARIO_MEDICO)) {
+            return new ConflitoDeAgendaException(CodigoDeErro.MEDICO_COM_CONSULTA_NO_INTERVALO, "Médico já possui uma consulta agendada nesse intervalo");
+        }
+        return exception;
+    }
+
+    private Map<Integer, ValidacaoException> validarLote(List<DadosAgendamentoConsulta> lote) {
+        var erros = new HashMap<Integer, ValidacaoException>();
+        for (var validador : validadoresAgendamento) {
+            if (lote.size() > 1) {
+                medidorDeValidacoes.validarTodos(AGENDAMENTO, validador, () -> validador.validarTodos(lote))
+                        .forEach(erros::putIfAbsent);
+                continue;
+            }
+
+            try {
+                medidorDeValidacoes.validar(AGENDAMENTO, validador, () -> validador.validar(lote.get(0)));
+            } catch (ValidacaoException exception) {
+                erros.putIfAbsent(0, exception);
+            }
+        }
+        return erros;
+    }
+
+    @Transactional
     public void cancelar(DadosCancelamentoConsulta dados) {
-        validadoresCancelamento.forEach(v -> v.validar(dados));
+        consultaRepository.findById(dados.idConsulta()).ifPresent(consulta -> bloqueioDeAgenda.bloquear(
+                List.of(consulta.getMedico().getId()), List.of(consulta.getPaciente().getId())));
+        validadoresCancelamento.forEach(v -> medidorDeValidacoes.validar(CANCELAMENTO, v, () -> v.validar(dados)));
 
         try {
             var consulta = consultaRepository.findById(dados.idConsulta()).orElseThrow();
             consulta.cancelar(dados.motivo());
+            var medico = consulta.getMedico();
+            indiceDeHorariosLivres.liberar(medico.getEspecialidade(), consulta.getData(), medico.getId());
+            calendarioDeHorariosLivres.invalidar(medico.getEspecialidade(), medico.getId(), consulta.getData());
         } catch (NoSuchElementException exception) {
-            throw new RuntimeException("Consulta não encontrada");
+            throw new RegistroNaoEncontradoException(CodigoDeErro.CONSULTA_NAO_ENCONTRADA, "Consulta não encontrada");
         }
     }
 
-    private Medico escolherMedico(DadosAgendamentoConsulta dados) {
+    private MedicoAtivo escolherMedico(DadosAgendamentoConsulta dados) {
         if (dados.idMedico() != null) {
-            return medicoRepository.findAtivoById(dados.idMedico()).orElseThrow();
+            return medicoService.findAtivoById(dados.idMedico()).orElseThrow();
         }
 
         if (dados.especialidade() == null) {
-            throw new RuntimeException("A especialidade é obrigatória quando o médico não é informado");
+            throw new ValidacaoException(CodigoDeErro.ESPECIALIDADE_OBRIGATORIA, "A especialidade é obrigatória quando o médico não é informado");
         }
 
-        try {
-            return medicoRepository.findByEspecialidadeComDataLivre(dados.especialidade(), dados.data()).orElseThrow();
-        } catch (NoSuchElementException exception) {
-            throw new RuntimeException("Não existem médicos disponíveis na especialidade e horário informados");
-        }
+        // o médico sorteado é bloqueado depois dos pacientes e dos médicos informados, fora da ordem crescente:
+        // por isso sem esperar, trocando por outro médico livre quando outra transação já o bloqueou. O bloqueio
+        // de quem se mostrou ocupado no banco é desfeito na hora, e só o médico escolhido fica bloqueado
+        var ocupados = new HashSet<Long>();
+        Predicate<Long> bloquear = idMedico -> {
+            if (bloqueioDeAgenda.tentarBloquearMedico(idMedico)) {
+                return true;
+            }
+            ocupados.add(idMedico);
+            return false;
+        };
+
+        return indiceDeHorariosLivres.escolherMedicoLivre(dados.especialidade(), dados.data(), bloquear, bloqueioDeAgenda::liberarMedico)
+                .or(() -> medicoRepository.findByEspecialidadeComDataLivre(dados.especialidade(), dados.data())
+                        .filter(medico -> bloquear.test(medico.getId()))
+                        .flatMap(medico -> {
+                            var confirmado = medicoRepository.findAtivoComDataLivreById(medico.getId(), dados.especialidade(), dados.data());
+                            if (confirmado.isEmpty()) {
+                                bloqueioDeAgenda.liberarMedico(medico.getId());
+                            }
+                            return confirmado;
+                        }))
+                .map(MedicoAtivo::new)
+                .orElseThrow(() -> ocupados.isEmpty()
+                        ? new ValidacaoException(CodigoDeErro.SEM_MEDICO_DISPONIVEL, "Não existem médicos disponíveis na especialidade e horário informados")
+                        : new AgendaOcupadaException());
     }
 }
@@ -0,0 +1,133 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.persistence.EntityNotFoundException;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.infra.datasource.LeiturasNoPrimario;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static med.voll.api.domain.consulta.validacoes.agendamentos.ValidadorHorarioAntecedenciaAgendamento.ANTECEDENCIA_MINIMA_EM_MINUTOS;
+import static med.voll.api.domain.consulta.validacoes.agendamentos.ValidadorHorarioFuncionamento.HORA_ABERTURA;
+import static med.voll.api.domain.consulta.validacoes.agendamentos.ValidadorHorarioFuncionamento.HORA_FECHAMENTO;
+
+/**
+ * Horários livres de uma hora, de segunda a sábado dentro do horário de funcionamento, calculados por semana
+ * com uma única consulta de intervalo e guardados em cache até um agendamento ou cancelamento naquela semana.
+ * O que vai para o cache é lido do primário ({@link LeiturasNoPrimario}).
+ */
+@Component
+public class CalendarioDeHorariosLivres {
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Clock clock;
+
+    @Transactional(readOnly = true)
+    public DadosAgendaMedico agendaDoMedico(Long idMedico, LocalDate dia) {
+        var medico = LeiturasNoPrimario.executar(() -> medicoRepository.findMedicoAtivoById(idMedico))
+                .orElseThrow(EntityNotFoundException::new);
+        var segunda = segunda(dia);
+        List<LocalDateTime> horarios = cache("agendasMedicos").get(new SimpleKey(medico.id(), segunda), () -> {
+            var ocupados = LeiturasNoPrimario.executar(() -> consultaRepository.findHorariosOcupadosByMedicoIdIn(
+                    List.of(medico.id()), segunda.atStartOfDay(), segunda.plusWeeks(1).atStartOfDay()));
+            return horariosDaSemana(segunda).stream()
+                    .filter(horario -> livre(horario, ocupados))
+                    .toList();
+        });
+
+        var limite = limite();
+        return new DadosAgendaMedico(medico.id(), segunda, horarios.stream()
+                .filter(horario -> horario.isAfter(limite))
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    public DadosHorariosLivresEspecialidade horariosLivres(Especialidade especialidade, LocalDate dia) {
+        var segunda = segunda(dia);
+        List<DadosHorarioLivre> horarios = cache("horariosLivresEspecialidades").get(new SimpleKey(especialidade, segunda), () -> {
+            var idsMedicos = LeiturasNoPrimario.executar(() -> medicoRepository.findIdsAtivosByEspecialidade(especialidade));
+            Map<Long, List<HorarioOcupado>> ocupadosPorMedico = LeiturasNoPrimario.executar(() ->
+                            consultaRepository.findHorariosOcupadosByEspecialidade(
+                                    especialidade, segunda.atStartOfDay(), segunda.plusWeeks(1).atStartOfDay()))
+                    .stream()
+                    .collect(Collectors.groupingBy(HorarioOcupado::id));
+
+            var livres = new ArrayList<DadosHorarioLivre>();
+            for (var horario : horariosDaSemana(segunda)) {
+                var medicosLivres = idsMedicos.stream()
+                        .filter(id -> livre(horario, ocupadosPorMedico.getOrDefault(id, List.of())))
+                        .toList();
+                if (!medicosLivres.isEmpty()) {
+                    livres.add(new DadosHorarioLivre(horario, medicosLivres));
+                }
+            }
+            return List.copyOf(livres);
+        });
+
+        var limite = limite();
+        return new DadosHorariosLivresEspecialidade(especialidade, segunda, horarios.stream()
+                .filter(horario -> horario.data().isAfter(limite))
+                .toList());
+    }
+
+    /**
+     * Chamado a cada agendamento ou cancelamento; dentro de uma transação a remoção só ocorre após o commit.
+     */
+    public void invalidar(Especialidade especialidade, Long idMedico, LocalDateTime data) {
+        var segunda = segunda(data.toLocalDate());
+        cache("agendasMedicos").evict(new SimpleKey(idMedico, segunda));
+        cache("horariosLivresEspecialidades").evict(new SimpleKey(especialidade, segunda));
+    }
+
+    private List<LocalDateTime> horariosDaSemana(LocalDate segunda) {
+        var horarios = new ArrayList<LocalDateTime>();
+        for (var dia = segunda; dia.getDayOfWeek() != DayOfWeek.SUNDAY; dia = dia.plusDays(1)) {
+            for (int hora = HORA_ABERTURA; hora < HORA_FECHAMENTO; hora++) {
+                horarios.add(dia.atTime(hora, 0));
+            }
+        }
+        return horarios;
+    }
+
+    // mesma regra do ValidadorMedicoComOutraConsultaNoMesmoHorario e da restrição consultas_medico_horario_excl
+    private boolean livre(LocalDateTime horario, Collection<HorarioOcupado> ocupados) {
+        return ocupados.stream().noneMatch(ocupado ->
+                !horario.isBefore(ocupado.data().minusHours(1)) && !horario.isAfter(ocupado.data().plusHours(1)));
+    }
+
+    private LocalDate segunda(LocalDate dia) {
+        return dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private LocalDateTime limite() {
+        return LocalDateTime.now(clock).plusMinutes(ANTECEDENCIA_MINIMA_EM_MINUTOS).minusNanos(1);
+    }
+
+    private Cache cache(String nome) {
+        return cacheManager.getCache(nome);
+    }
+}
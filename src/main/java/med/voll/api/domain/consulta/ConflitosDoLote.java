@@ -0,0 +1,47 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ConflitoDeAgendaException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ConflitosDoLote {
+
+    private final Map<Long, List<LocalDateTime>> consultasPorPaciente = new HashMap<>();
+
+    private final Map<Long, List<LocalDateTime>> consultasPorMedico = new HashMap<>();
+
+    void validarPaciente(DadosAgendamentoConsulta dados) {
+        var primeiroHorario = dados.data().withHour(7);
+        var ultimoHorario = dados.data().withHour(18);
+        var pacientePossuiOutraConsultaNoDia = consultasPorPaciente.getOrDefault(dados.idPaciente(), List.of())
+                .stream()
+                .anyMatch(data -> !data.isBefore(primeiroHorario) && !data.isAfter(ultimoHorario));
+        if (pacientePossuiOutraConsultaNoDia) {
+            throw new ConflitoDeAgendaException(CodigoDeErro.PACIENTE_COM_CONSULTA_NO_DIA, "Paciente já possui uma consulta agendada nesse dia");
+        }
+    }
+
+    void validarMedico(Long idMedico, LocalDateTime data) {
+        var medicoPossuiConsultaNoIntervalo = consultasPorMedico.getOrDefault(idMedico, List.of())
+                .stream()
+                .anyMatch(inicioDaConsulta -> !data.isAfter(inicioDaConsulta.plusHours(1))
+                        && !data.isBefore(inicioDaConsulta.minusHours(1)));
+        if (medicoPossuiConsultaNoIntervalo) {
+            throw new ConflitoDeAgendaException(CodigoDeErro.MEDICO_COM_CONSULTA_NO_INTERVALO, "Médico já possui uma consulta agendada nesse intervalo");
+        }
+    }
+
+    void registrar(Long idPaciente, Long idMedico, LocalDateTime data) {
+        adicionar(consultasPorPaciente, idPaciente, data);
+        adicionar(consultasPorMedico, idMedico, data);
+    }
+
+    private void adicionar(Map<Long, List<LocalDateTime>> consultas, Long id, LocalDateTime data) {
+        consultas.computeIfAbsent(id, i -> new ArrayList<>()).add(data);
+    }
+}
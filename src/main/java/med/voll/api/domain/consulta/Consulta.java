@@ -7,11 +7,17 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import med.voll.api.domain.medico.Medico;
 import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.infra.sequencia.ReservaDeIds;
 
 import java.time.LocalDateTime;
 
 @Table(name = "consultas")
 @Entity(name = "Consulta")
+@NamedQuery(name = "Consulta.findDetalhamentoById", query = """
+        select new med.voll.api.domain.consulta.DadosDetalhamentoConsulta(c.id, c.medico.id, c.paciente.id, c.data)
+            from Consulta c
+            where c.id = :id
+        """)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +25,8 @@ import java.time.LocalDateTime;
 public class Consulta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consultas_id_seq")
+    @SequenceGenerator(name = "consultas_id_seq", sequenceName = "consultas_id_seq", allocationSize = ReservaDeIds.TAMANHO_DO_BLOCO)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,87 @@
+package med.voll.api.domain.consulta;
+
+import io.micrometer.core.annotation.Timed;
+import med.voll.api.infra.sequencia.ReservaDeIds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@Timed("repositorios.jdbc")
+public class ConsultaLoteRepository {
+
+    private static final String INSERIR = """
+            insert into consultas (id, medico_id, paciente_id, data) values (?, ?, ?, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservaDeIds reservaDeIds;
+
+    /**
+     * Insere as consultas em um único lote, dentro de um savepoint. Se alguma violar uma restrição (outra transação
+     * ocupou o horário do médico depois da validação, por exemplo), o lote é desfeito até o savepoint e as consultas
+     * são inseridas uma a uma, cada uma no próprio savepoint: só as que violaram ficam de fora, com a violação na
+     * mesma posição do resultado. Exige uma transação ativa.
+     */
+    public List<Insercao> inserirTodas(List<Consulta> consultas) {
+        if (consultas.isEmpty()) {
+            return List.of();
+        }
+
+        var ids = reservaDeIds.reservar("consultas_id_seq", consultas.size());
+        var inseridas = new ArrayList<Consulta>(consultas.size());
+        for (int i = 0; i < consultas.size(); i++) {
+            var consulta = consultas.get(i);
+            inseridas.add(new Consulta(ids.get(i), consulta.getMedico(), consulta.getPaciente(), consulta.getData(), null));
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<List<Insercao>>) conexao -> {
+            var lote = conexao.setSavepoint();
+            try {
+                jdbcTemplate.batchUpdate(INSERIR, inseridas, inseridas.size(), this::preencher);
+                conexao.releaseSavepoint(lote);
+                return inseridas.stream().map(consulta -> new Insercao(consulta, null)).toList();
+            } catch (DataIntegrityViolationException exception) {
+                conexao.rollback(lote);
+            }
+
+            var resultados = new ArrayList<Insercao>(inseridas.size());
+            for (var consulta : inseridas) {
+                var item = conexao.setSavepoint();
+                try {
+                    jdbcTemplate.update(INSERIR, ps -> preencher(ps, consulta));
+                    conexao.releaseSavepoint(item);
+                    resultados.add(new Insercao(consulta, null));
+                } catch (DataIntegrityViolationException exception) {
+                    conexao.rollback(item);
+                    resultados.add(new Insercao(consulta, exception));
+                }
+            }
+            return resultados;
+        });
+    }
+
+    private void preencher(PreparedStatement ps, Consulta consulta) throws SQLException {
+        ps.setLong(1, consulta.getId());
+        ps.setLong(2, consulta.getMedico().getId());
+        ps.setLong(3, consulta.getPaciente().getId());
+        ps.setTimestamp(4, Timestamp.valueOf(consulta.getData()));
+    }
+
+    /**
+     * Consulta com o id reservado e, quando não foi gravada, a violação que o banco devolveu.
+     */
+    public record Insercao(Consulta consulta, DataIntegrityViolationException violacao) {
+    }
+}
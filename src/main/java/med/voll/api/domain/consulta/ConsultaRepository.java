@@ -1,12 +1,69 @@
 package med.voll.api.domain.consulta;
 
+import jakarta.persistence.QueryHint;
+import med.voll.api.domain.medico.Especialidade;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+@Transactional(readOnly = true)
 public interface ConsultaRepository extends JpaRepository<Consulta, Long> {
     Boolean existsByPacienteIdAndMotivoCancelamentoAndDataBetween(Long idPaciente, MotivoCancelamento motivo, LocalDateTime primeiroHorario, LocalDateTime ultimoHorario);
 
-    List<Consulta> findAllByMedicoIdAndDataBetween(Long aLong, LocalDateTime inicioDoIntervalo, LocalDateTime fimDoIntervalo);
+    Boolean existsByMedicoIdAndMotivoCancelamentoIsNullAndDataBetween(Long idMedico, LocalDateTime inicioDoIntervalo, LocalDateTime fimDoIntervalo);
+
+    @Query("""
+            select c.medico.id from Consulta c
+                where c.medico.especialidade = :especialidade
+                and c.data = :data
+                and c.motivoCancelamento is null
+            """)
+    List<Long> findIdsMedicosOcupadosByEspecialidadeAndData(Especialidade especialidade, LocalDateTime data);
+
+    @Query("""
+            select new med.voll.api.domain.consulta.HorarioOcupado(c.paciente.id, c.data) from Consulta c
+                where c.paciente.id in :idsPacientes
+                and c.data between :inicio and :fim
+                and c.motivoCancelamento is null
+            """)
+    List<HorarioOcupado> findHorariosOcupadosByPacienteIdIn(Collection<Long> idsPacientes, LocalDateTime inicio, LocalDateTime fim);
+
+    @Query("""
+            select new med.voll.api.domain.consulta.HorarioOcupado(c.medico.id, c.data) from Consulta c
+                where c.medico.id in :idsMedicos
+                and c.data between :inicio and :fim
+                and c.motivoCancelamento is null
+            """)
+    List<HorarioOcupado> findHorariosOcupadosByMedicoIdIn(Collection<Long> idsMedicos, LocalDateTime inicio, LocalDateTime fim);
+
+    @Query("""
+            select new med.voll.api.domain.consulta.HorarioOcupado(c.medico.id, c.data) from Consulta c
+                where c.medico.especialidade = :especialidade
+                and c.data between :inicio and :fim
+                and c.motivoCancelamento is null
+            """)
+    List<HorarioOcupado> findHorariosOcupadosByEspecialidade(Especialidade especialidade, LocalDateTime inicio, LocalDateTime fim);
+
+    // consulta nomeada em Consulta: o Spring Data não reprocessa o JPQL a cada chamada, como faz com @Query
+    Optional<DadosDetalhamentoConsulta> findDetalhamentoById(Long id);
+
+    @Query("""
+            select new med.voll.api.domain.consulta.DadosDetalhamentoConsulta(c.id, c.medico.id, c.paciente.id, c.data)
+                from Consulta c
+                where c.motivoCancelamento is null
+                order by c.data, c.id
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<DadosDetalhamentoConsulta> exportarAgendadas();
 }
@@ -0,0 +1,12 @@
+package med.voll.api.domain.consulta;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DadosAgendaMedico(
+        Long idMedico,
+        LocalDate semana,
+        List<LocalDateTime> horariosLivres
+) {
+}
@@ -0,0 +1,14 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record DadosAgendamentoLote(
+        @NotEmpty
+        @Size(max = 1000)
+        List<@Valid DadosAgendamentoConsulta> consultas
+) {
+}
@@ -0,0 +1,10 @@
+package med.voll.api.domain.consulta;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record DadosHorarioLivre(
+        LocalDateTime data,
+        List<Long> idsMedicos
+) {
+}
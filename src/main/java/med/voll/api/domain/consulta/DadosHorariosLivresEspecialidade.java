@@ -0,0 +1,13 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.medico.Especialidade;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record DadosHorariosLivresEspecialidade(
+        Especialidade especialidade,
+        LocalDate semana,
+        List<DadosHorarioLivre> horariosLivres
+) {
+}
@@ -0,0 +1,20 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ValidacaoException;
+
+public record DadosResultadoAgendamento(
+        Integer posicao,
+        Boolean sucesso,
+        DadosDetalhamentoConsulta consulta,
+        CodigoDeErro codigo,
+        String erro
+) {
+    public static DadosResultadoAgendamento sucesso(Integer posicao, Consulta consulta) {
+        return new DadosResultadoAgendamento(posicao, true, new DadosDetalhamentoConsulta(consulta), null, null);
+    }
+
+    public static DadosResultadoAgendamento erro(Integer posicao, ValidacaoException erro) {
+        return new DadosResultadoAgendamento(posicao, false, null, erro.getCodigo(), erro.getMessage());
+    }
+}
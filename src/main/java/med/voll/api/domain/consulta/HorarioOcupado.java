@@ -0,0 +1,9 @@
+package med.voll.api.domain.consulta;
+
+import java.time.LocalDateTime;
+
+public record HorarioOcupado(
+        Long id,
+        LocalDateTime data
+) {
+}
@@ -0,0 +1,221 @@
+package med.voll.api.domain.consulta;
+
+import lombok.NoArgsConstructor;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Médicos livres por especialidade e horário. O médico sorteado sempre é confirmado no banco,
+ * então o índice pode ficar desatualizado sem gerar agendamentos inválidos.
+ * <p>
+ * Cada horário é carregado uma vez, fora do lock do mapa: quem chega durante a carga aguarda o mesmo future.
+ */
+@Component
+@NoArgsConstructor
+public class IndiceDeHorariosLivres {
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private Clock clock;
+
+    private final Map<Especialidade, Map<LocalDateTime, CompletableFuture<BitSet>>> horariosLivres = new ConcurrentHashMap<>();
+
+    public IndiceDeHorariosLivres(MedicoRepository medicoRepository, ConsultaRepository consultaRepository, Clock clock) {
+        this.medicoRepository = medicoRepository;
+        this.consultaRepository = consultaRepository;
+        this.clock = clock;
+    }
+
+    public Optional<Medico> escolherMedicoLivre(Especialidade especialidade, LocalDateTime data) {
+        return escolherMedicoLivre(especialidade, data, idMedico -> true);
+    }
+
+    public Optional<Medico> escolherMedicoLivre(Especialidade especialidade, LocalDateTime data, Predicate<Long> bloquear) {
+        return escolherMedicoLivre(especialidade, data, bloquear, idMedico -> {});
+    }
+
+    /**
+     * @param bloquear chamado com o médico sorteado antes da confirmação no banco; quando devolve {@code false} o
+     *                 médico é pulado só nesta escolha, sem sair do índice
+     * @param liberar  chamado com o médico bloqueado que o banco mostrou ocupado, antes de sortear o próximo
+     */
+    public Optional<Medico> escolherMedicoLivre(Especialidade especialidade, LocalDateTime data, Predicate<Long> bloquear,
+                                                Consumer<Long> liberar) {
+        var livres = horario(especialidade, data);
+        var pulados = new BitSet();
+        while (true) {
+            int idMedico;
+            synchronized (livres) {
+                idMedico = sortear(livres, pulados);
+            }
+            if (idMedico < 0) {
+                return Optional.empty();
+            }
+
+            if (!bloquear.test((long) idMedico)) {
+                pulados.set(idMedico);
+                continue;
+            }
+
+            var medico = medicoRepository.findAtivoComDataLivreById((long) idMedico, especialidade, data);
+            if (medico.isPresent()) {
+                return medico;
+            }
+
+            liberar.accept((long) idMedico);
+
+            synchronized (livres) {
+                livres.clear(idMedico);
+            }
+        }
+    }
+
+    public void ocupar(Especialidade especialidade, LocalDateTime data, Long idMedico) {
+        aposCommit(() -> atualizar(especialidade, data, idMedico, false));
+    }
+
+    public void liberar(Especialidade especialidade, LocalDateTime data, Long idMedico) {
+        aposCommit(() -> atualizar(especialidade, data, idMedico, true));
+    }
+
+    /**
+     * Médico recém-cadastrado ainda não tem consultas: entra como livre em todos os horários já carregados da especialidade.
+     */
+    public void incluirMedico(Especialidade especialidade, Long idMedico) {
+        aposCommit(() -> {
+            var horarios = horariosLivres.get(especialidade);
+            if (horarios != null) {
+                horarios.values().forEach(horario -> aplicar(horario, livres -> marcar(livres, idMedico, true)));
+            }
+        });
+    }
+
+    /**
+     * Descarta os horários carregados, que voltam do banco no próximo uso; para cadastros em lote, que não informam os ids.
+     */
+    public void invalidar() {
+        aposCommit(horariosLivres::clear);
+    }
+
+    private BitSet horario(Especialidade especialidade, LocalDateTime data) {
+        var horarios = horariosLivres.computeIfAbsent(especialidade, e -> new ConcurrentHashMap<>());
+        var existente = horarios.get(data);
+        if (existente != null) {
+            return aguardar(existente);
+        }
+
+        var agora = LocalDateTime.now(clock);
+        horarios.keySet().removeIf(horario -> horario.isBefore(agora));
+
+        var carga = new CompletableFuture<BitSet>();
+        existente = horarios.putIfAbsent(data, carga);
+        if (existente != null) {
+            return aguardar(existente);
+        }
+
+        try {
+            carga.complete(carregar(especialidade, data));
+        } catch (RuntimeException exception) {
+            horarios.remove(data, carga);
+            carga.completeExceptionally(exception);
+            throw exception;
+        }
+        return carga.join();
+    }
+
+    private BitSet aguardar(CompletableFuture<BitSet> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw exception;
+        }
+    }
+
+    private BitSet carregar(Especialidade especialidade, LocalDateTime data) {
+        var livres = new BitSet();
+        medicoRepository.findIdsAtivosByEspecialidade(especialidade).forEach(id -> marcar(livres, id, true));
+        consultaRepository.findIdsMedicosOcupadosByEspecialidadeAndData(especialidade, data)
+                .forEach(id -> marcar(livres, id, false));
+        return livres;
+    }
+
+    private void atualizar(Especialidade especialidade, LocalDateTime data, Long idMedico, boolean livre) {
+        var horarios = horariosLivres.get(especialidade);
+        if (horarios == null) {
+            return;
+        }
+
+        var horario = horarios.get(data);
+        if (horario != null) {
+            aplicar(horario, livres -> marcar(livres, idMedico, livre));
+        }
+    }
+
+    // se o horário ainda está carregando, a alteração é aplicada quando a carga terminar
+    private void aplicar(CompletableFuture<BitSet> horario, Consumer<BitSet> alteracao) {
+        horario.thenAccept(livres -> {
+            synchronized (livres) {
+                alteracao.accept(livres);
+            }
+        });
+    }
+
+    private int sortear(BitSet livres, BitSet pulados) {
+        if (!pulados.isEmpty()) {
+            livres = (BitSet) livres.clone();
+            livres.andNot(pulados);
+        }
+        if (livres.isEmpty()) {
+            return -1;
+        }
+
+        var inicio = ThreadLocalRandom.current().nextInt(livres.length());
+        var idMedico = livres.nextSetBit(inicio);
+        return idMedico >= 0 ? idMedico : livres.nextSetBit(0);
+    }
+
+    private void marcar(BitSet livres, Long idMedico, boolean livre) {
+        if (idMedico != null && idMedico <= Integer.MAX_VALUE) {
+            livres.set(idMedico.intValue(), livre);
+        }
+    }
+
+    private void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            acao.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                acao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package med.voll.api.domain.consulta.fila;
+
+import med.voll.api.domain.CodigoDeErro;
+
+import java.util.UUID;
+
+public record DadosSolicitacaoAgendamento(
+        UUID ticket,
+        StatusSolicitacao status,
+        Long idConsulta,
+        CodigoDeErro codigo,
+        String erro
+) {
+}
@@ -0,0 +1,161 @@
+package med.voll.api.domain.consulta.fila;
+
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.medico.Especialidade;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Solicitações de agendamento gravadas na tabela solicitacoes_agendamento e consumidas pelo {@link ProcessadorDeSolicitacoes}.
+ */
+@Repository
+@Timed("repositorios.jdbc")
+public class FilaDeAgendamentos {
+
+    private static final String ENFILEIRAR = """
+            insert into solicitacoes_agendamento (ticket, medico_id, especialidade, paciente_id, data, status)
+                values (?, ?, ?, ?, ?, 'PENDENTE')
+                on conflict (paciente_id, data) where status in ('PENDENTE', 'PROCESSANDO') do nothing
+            """;
+
+    private static final String BUSCAR_EM_ANDAMENTO = """
+            select ticket from solicitacoes_agendamento
+                where paciente_id = ? and data = ? and status in ('PENDENTE', 'PROCESSANDO')
+            """;
+
+    // a CTE materializada garante que o limit seja aplicado uma única vez; com "id in (subquery)" o planner
+    // pode reavaliar a subquery e reservar mais linhas que o pedido
+    private static final String RESERVAR = """
+            with pendentes as materialized (
+                select id from solicitacoes_agendamento
+                    where status = 'PENDENTE'
+                    order by id
+                    limit ?
+                    for update skip locked
+            )
+            update solicitacoes_agendamento s set status = 'PROCESSANDO', reservada_em = now(), tentativas = s.tentativas + 1
+                from pendentes
+                where s.id = pendentes.id
+                returning s.id, s.ticket, s.medico_id, s.especialidade, s.paciente_id, s.data
+            """;
+
+    private static final String CONCLUIR = """
+            update solicitacoes_agendamento set status = ?, consulta_id = ?, codigo = ?, erro = ?
+                where id = ? and status = 'PROCESSANDO'
+            """;
+
+    // a agenda ocupada não é uma falha da solicitação: a reserva devolvida não conta como tentativa
+    private static final String DEVOLVER = """
+            update solicitacoes_agendamento set status = 'PENDENTE', reservada_em = null, tentativas = tentativas - 1
+                where id = ? and status = 'PROCESSANDO'
+            """;
+
+    private static final String DEVOLVER_EXPIRADAS = """
+            update solicitacoes_agendamento set status = 'PENDENTE', reservada_em = null
+                where status = 'PROCESSANDO' and reservada_em < now() - make_interval(secs => ?) and tentativas < ?
+            """;
+
+    private static final String ENCERRAR_EXPIRADAS = """
+            update solicitacoes_agendamento set status = 'FALHOU', reservada_em = null, codigo = ?, erro = ?
+                where status = 'PROCESSANDO' and reservada_em < now() - make_interval(secs => ?) and tentativas >= ?
+            """;
+
+    private static final String BUSCAR = """
+            select ticket, status, consulta_id, codigo, erro from solicitacoes_agendamento where ticket = ?
+            """;
+
+    private static final int TAMANHO_MAXIMO_ERRO = 255;
+
+    private static final RowMapper<SolicitacaoDeAgendamento> SOLICITACAO = (rs, linha) -> new SolicitacaoDeAgendamento(
+            rs.getLong("id"),
+            rs.getObject("ticket", UUID.class),
+            new DadosAgendamentoConsulta(
+                    rs.getObject("medico_id", Long.class),
+                    Optional.ofNullable(rs.getString("especialidade")).map(Especialidade::valueOf).orElse(null),
+                    rs.getLong("paciente_id"),
+                    rs.getTimestamp("data").toLocalDateTime()));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Devolve o ticket da nova solicitação ou, se o paciente já tem uma solicitação em andamento
+     * para o mesmo horário, o ticket dela.
+     */
+    public UUID enfileirar(DadosAgendamentoConsulta dados) {
+        var data = Timestamp.valueOf(dados.data());
+        while (true) {
+            var ticket = UUID.randomUUID();
+            var inseridas = jdbcTemplate.update(ENFILEIRAR, ticket, dados.idMedico(),
+                    dados.especialidade() != null ? dados.especialidade().name() : null, dados.idPaciente(), data);
+            if (inseridas == 1) {
+                return ticket;
+            }
+
+            // a solicitação em andamento pode ter sido concluída entre o insert e esta consulta
+            var emAndamento = jdbcTemplate.queryForList(BUSCAR_EM_ANDAMENTO, UUID.class, dados.idPaciente(), data);
+            if (!emAndamento.isEmpty()) {
+                return emAndamento.get(0);
+            }
+        }
+    }
+
+    /**
+     * Marca até {@code tamanho} solicitações pendentes como em processamento, ignorando as que outro worker já reservou.
+     */
+    public List<SolicitacaoDeAgendamento> reservar(int tamanho) {
+        return jdbcTemplate.query(RESERVAR, SOLICITACAO, tamanho).stream()
+                .sorted(Comparator.comparing(SolicitacaoDeAgendamento::id))
+                .toList();
+    }
+
+    public void concluir(Long id, Long idConsulta) {
+        jdbcTemplate.update(CONCLUIR, StatusSolicitacao.AGENDADA.name(), idConsulta, null, null, id);
+    }
+
+    public void recusar(Long id, CodigoDeErro codigo, String erro) {
+        if (erro != null && erro.length() > TAMANHO_MAXIMO_ERRO) {
+            erro = erro.substring(0, TAMANHO_MAXIMO_ERRO);
+        }
+        jdbcTemplate.update(CONCLUIR, StatusSolicitacao.RECUSADA.name(), null, codigo.name(), erro, id);
+    }
+
+    /**
+     * Volta a solicitação para a fila logo em seguida, para falhas passageiras como a agenda ocupada por outra transação.
+     */
+    public void devolver(Long id) {
+        jdbcTemplate.update(DEVOLVER, id);
+    }
+
+    /**
+     * Volta para a fila as solicitações reservadas por um worker que parou antes de concluí-las. As que já foram
+     * reservadas {@code tentativas} vezes sem conclusão, provavelmente as que derrubam o worker, são encerradas
+     * como {@link StatusSolicitacao#FALHOU} em vez de voltarem para a fila.
+     */
+    public int devolverExpiradas(Duration tempoMaximoDeProcessamento, int tentativas) {
+        var segundos = tempoMaximoDeProcessamento.toSeconds();
+        jdbcTemplate.update(ENCERRAR_EXPIRADAS, CodigoDeErro.TENTATIVAS_ESGOTADAS.name(),
+                "Solicitação não processada após " + tentativas + " tentativas", segundos, tentativas);
+        return jdbcTemplate.update(DEVOLVER_EXPIRADAS, segundos, tentativas);
+    }
+
+    public Optional<DadosSolicitacaoAgendamento> buscar(UUID ticket) {
+        return jdbcTemplate.query(BUSCAR, (rs, linha) -> new DadosSolicitacaoAgendamento(
+                rs.getObject("ticket", UUID.class),
+                StatusSolicitacao.valueOf(rs.getString("status")),
+                rs.getObject("consulta_id", Long.class),
+                Optional.ofNullable(rs.getString("codigo")).map(CodigoDeErro::valueOf).orElse(null),
+                rs.getString("erro")), ticket).stream().findFirst();
+    }
+}
@@ -0,0 +1,138 @@
+package med.voll.api.domain.consulta.fila;
+
+import med.voll.api.domain.AgendaOcupadaException;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ValidacaoException;
+import med.voll.api.domain.consulta.AgendaDeConsultas;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.infra.bloqueio.BloqueioDeAgenda;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Workers que drenam a {@link FilaDeAgendamentos} em lotes, agendando juntas as solicitações do mesmo médico
+ * (ou da mesma especialidade, quando o médico não foi informado) com {@link AgendaDeConsultas#agendarLote}.
+ * Cada grupo é gravado com o status das suas solicitações em uma única transação.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(name = "api.agenda.modo", havingValue = "assincrono")
+public class ProcessadorDeSolicitacoes implements SchedulingConfigurer, DisposableBean {
+
+    private static final Duration TEMPO_MAXIMO_DE_PROCESSAMENTO = Duration.ofMinutes(5);
+
+    @Autowired
+    private FilaDeAgendamentos fila;
+
+    @Autowired
+    private AgendaDeConsultas agenda;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BloqueioDeAgenda bloqueioDeAgenda;
+
+    @Value("${api.agenda.fila.workers:2}")
+    private int workers;
+
+    @Value("${api.agenda.fila.tamanho-do-lote:50}")
+    private int tamanhoDoLote;
+
+    @Value("${api.agenda.fila.intervalo:200ms}")
+    private Duration intervalo;
+
+    @Value("${api.agenda.fila.tentativas:5}")
+    private int tentativas;
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        scheduler.setPoolSize(workers + 1);
+        scheduler.setThreadNamePrefix("fila-agendamentos-");
+        scheduler.initialize();
+        registrar.setTaskScheduler(scheduler);
+
+        for (int i = 0; i < workers; i++) {
+            registrar.addFixedDelayTask(this::drenar, intervalo);
+        }
+        registrar.addFixedDelayTask(() -> fila.devolverExpiradas(TEMPO_MAXIMO_DE_PROCESSAMENTO, tentativas), Duration.ofMinutes(1));
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+
+    public void drenar() {
+        List<SolicitacaoDeAgendamento> solicitacoes;
+        do {
+            solicitacoes = transactionTemplate.execute(status -> fila.reservar(tamanhoDoLote));
+            agruparPorMedico(solicitacoes).forEach(this::processar);
+        } while (solicitacoes.size() == tamanhoDoLote);
+    }
+
+    private List<List<SolicitacaoDeAgendamento>> agruparPorMedico(List<SolicitacaoDeAgendamento> solicitacoes) {
+        var grupos = new LinkedHashMap<Object, List<SolicitacaoDeAgendamento>>();
+        for (var solicitacao : solicitacoes) {
+            var dados = solicitacao.dados();
+            Object chave = dados.idMedico() != null ? dados.idMedico() : dados.especialidade();
+            grupos.computeIfAbsent(chave, c -> new ArrayList<>()).add(solicitacao);
+        }
+        return List.copyOf(grupos.values());
+    }
+
+    private void processar(List<SolicitacaoDeAgendamento> grupo) {
+        var lote = grupo.stream().map(SolicitacaoDeAgendamento::dados).toList();
+        var idsMedicos = lote.stream().map(DadosAgendamentoConsulta::idMedico).filter(Objects::nonNull).collect(Collectors.toSet());
+        var idsPacientes = lote.stream().map(DadosAgendamentoConsulta::idPaciente).collect(Collectors.toSet());
+        try {
+            // os bloqueios de agenda vêm antes da transação do grupo, para a espera não segurar uma conexão
+            bloqueioDeAgenda.antesDaTransacao(idsMedicos, idsPacientes, () -> transactionTemplate.execute(status -> {
+                var resultados = agenda.agendarLote(lote);
+                for (int i = 0; i < grupo.size(); i++) {
+                    var resultado = resultados.get(i);
+                    if (resultado.sucesso()) {
+                        fila.concluir(grupo.get(i).id(), resultado.consulta().id());
+                    } else if (resultado.codigo() == CodigoDeErro.AGENDA_OCUPADA) {
+                        fila.devolver(grupo.get(i).id());
+                    } else {
+                        fila.recusar(grupo.get(i).id(), resultado.codigo(), resultado.erro());
+                    }
+                }
+                return null;
+            }));
+        } catch (RuntimeException exception) {
+            // uma falha que desfaz a transação do grupo inteiro é isolada item a item
+            if (grupo.size() > 1) {
+                grupo.forEach(solicitacao -> processar(List.of(solicitacao)));
+                return;
+            }
+            // só uma regra de negócio recusa a solicitação; outras falhas (banco fora do ar, timeout) a deixam
+            // em PROCESSANDO, e devolverExpiradas a coloca de volta na fila depois do tempo máximo de processamento,
+            // ou a encerra como FALHOU depois de api.agenda.fila.tentativas reservas
+            var id = grupo.get(0).id();
+            if (exception instanceof AgendaOcupadaException) {
+                transactionTemplate.executeWithoutResult(status -> fila.devolver(id));
+            } else if (exception instanceof ValidacaoException validacao) {
+                transactionTemplate.executeWithoutResult(status -> fila.recusar(id, validacao.getCodigo(), validacao.getMessage()));
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package med.voll.api.domain.consulta.fila;
+
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+
+import java.util.UUID;
+
+public record SolicitacaoDeAgendamento(
+        Long id,
+        UUID ticket,
+        DadosAgendamentoConsulta dados
+) {
+}
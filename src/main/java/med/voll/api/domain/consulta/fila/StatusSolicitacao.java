@@ -0,0 +1,9 @@
+package med.voll.api.domain.consulta.fila;
+
+public enum StatusSolicitacao {
+    PENDENTE,
+    PROCESSANDO,
+    AGENDADA,
+    RECUSADA,
+    FALHOU
+}
@@ -1,7 +1,28 @@
 package med.voll.api.domain.consulta.validacoes.agendamentos;
 
+import med.voll.api.domain.ValidacaoException;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public interface ValidadorAgendamentoDeConsulta {
     void validar(DadosAgendamentoConsulta dados);
+
+    /**
+     * Valida todos os agendamentos do lote, devolvendo o erro de cada posição rejeitada.
+     * Validadores que consultam o banco devem sobrescrever para fazer uma única consulta por lote.
+     */
+    default Map<Integer, ValidacaoException> validarTodos(List<DadosAgendamentoConsulta> lote) {
+        var erros = new HashMap<Integer, ValidacaoException>();
+        for (int i = 0; i < lote.size(); i++) {
+            try {
+                validar(lote.get(i));
+            } catch (ValidacaoException exception) {
+                erros.put(i, exception);
+            }
+        }
+        return erros;
+    }
 }
@@ -1,21 +1,37 @@
 package med.voll.api.domain.consulta.validacoes.agendamentos;
 
+import lombok.NoArgsConstructor;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ValidacaoException;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.Duration;
-import java.time.LocalDateTime;
 
 @Component
+@NoArgsConstructor
 public class ValidadorHorarioAntecedenciaAgendamento implements ValidadorAgendamentoDeConsulta {
 
+    public static final int ANTECEDENCIA_MINIMA_EM_MINUTOS = 30;
+
+    private static final Duration ANTECEDENCIA_MINIMA = Duration.ofMinutes(ANTECEDENCIA_MINIMA_EM_MINUTOS);
+
+    @Autowired
+    private Clock clock;
+
+    public ValidadorHorarioAntecedenciaAgendamento(Clock clock) {
+        this.clock = clock;
+    }
+
     public void validar(DadosAgendamentoConsulta dados) {
-        var dataConsulta = dados.data();
-        var agora = LocalDateTime.now();
-        var diferencaEmMinutos = Duration.between(agora, dataConsulta).toMinutes();
+        var inicioDaConsulta = dados.data().atZone(clock.getZone()).toInstant();
+        var antecedencia = Duration.between(clock.instant(), inicioDaConsulta);
 
-        if (diferencaEmMinutos < 30) {
-            throw new RuntimeException("Consulta deve ser agendada com antecedência mínima de 30 minutos");
+        if (antecedencia.compareTo(ANTECEDENCIA_MINIMA) < 0) {
+            throw new ValidacaoException(CodigoDeErro.ANTECEDENCIA_MINIMA_AGENDAMENTO,
+                    "Consulta deve ser agendada com antecedência mínima de 30 minutos");
         }
     }
 
@@ -1,5 +1,7 @@
 package med.voll.api.domain.consulta.validacoes.agendamentos;
 
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ValidacaoException;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
 import org.springframework.stereotype.Component;
 
@@ -8,14 +10,18 @@ import java.time.DayOfWeek;
 @Component
 public class ValidadorHorarioFuncionamento implements ValidadorAgendamentoDeConsulta {
 
+    public static final int HORA_ABERTURA = 7;
+    public static final int HORA_FECHAMENTO = 18;
+
     public void validar(DadosAgendamentoConsulta dados) {
         var dataConsulta = dados.data();
         boolean ehDomingo = dataConsulta.getDayOfWeek().equals(DayOfWeek.SUNDAY);
-        boolean antesDaAberturaDaClinica = dataConsulta.getHour() < 7;
-        boolean depoisDoFechamentoDaClinica = dataConsulta.getHour() >= 18;
+        boolean antesDaAberturaDaClinica = dataConsulta.getHour() < HORA_ABERTURA;
+        boolean depoisDoFechamentoDaClinica = dataConsulta.getHour() >= HORA_FECHAMENTO;
 
         if (ehDomingo || antesDaAberturaDaClinica || depoisDoFechamentoDaClinica) {
-            throw new RuntimeException("Consulta fora do horário de funcionamento da clínica");
+            throw new ValidacaoException(CodigoDeErro.HORARIO_FORA_DO_FUNCIONAMENTO,
+                    "Consulta fora do horário de funcionamento da clínica");
         }
     }
 
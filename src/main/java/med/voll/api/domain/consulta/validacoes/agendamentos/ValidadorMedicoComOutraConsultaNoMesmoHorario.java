@@ -1,11 +1,22 @@
 package med.voll.api.domain.consulta.validacoes.agendamentos;
 
 import lombok.NoArgsConstructor;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ConflitoDeAgendaException;
+import med.voll.api.domain.ValidacaoException;
 import med.voll.api.domain.consulta.ConsultaRepository;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.consulta.HorarioOcupado;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @Component
 @NoArgsConstructor
 public class ValidadorMedicoComOutraConsultaNoMesmoHorario implements ValidadorAgendamentoDeConsulta{
@@ -18,19 +29,48 @@ public class ValidadorMedicoComOutraConsultaNoMesmoHorario implements ValidadorA
     }
 
     public void validar(DadosAgendamentoConsulta dados) {
-        var inicioDoDia = dados.data().withHour(1);
-        var fimDoDia = dados.data().withHour(23);
-        var consultasDoMedicoNoDia = repository.findAllByMedicoIdAndDataBetween(dados.idMedico(), inicioDoDia, fimDoDia);
-        if (consultasDoMedicoNoDia.stream().anyMatch(
-                consulta -> {
-                    var inicioDaConsulta = consulta.getData();
-                    var fimDaConsulta = consulta.getData().plusHours(1);
-                    return consulta.getMotivoCancelamento() == null
-                            && !dados.data().isAfter(fimDaConsulta)
-                            && !dados.data().isBefore(inicioDaConsulta.minusHours(1));
-                })
-        ) {
-            throw new RuntimeException("Médico já possui uma consulta agendada nesse intervalo");
+        var inicioDoIntervalo = dados.data().minusHours(1);
+        var fimDoIntervalo = dados.data().plusHours(1);
+        var medicoPossuiConsultaNoIntervalo = repository.existsByMedicoIdAndMotivoCancelamentoIsNullAndDataBetween(
+                dados.idMedico(), inicioDoIntervalo, fimDoIntervalo
+        );
+        if (medicoPossuiConsultaNoIntervalo) {
+            throw erro();
+        }
+    }
+
+    @Override
+    public Map<Integer, ValidacaoException> validarTodos(List<DadosAgendamentoConsulta> lote) {
+        var idsMedicos = lote.stream().map(DadosAgendamentoConsulta::idMedico).filter(Objects::nonNull).collect(Collectors.toSet());
+        if (idsMedicos.isEmpty()) {
+            return Map.of();
         }
+
+        var primeiraData = lote.stream().map(DadosAgendamentoConsulta::data).min(LocalDateTime::compareTo).orElseThrow();
+        var ultimaData = lote.stream().map(DadosAgendamentoConsulta::data).max(LocalDateTime::compareTo).orElseThrow();
+        var consultasPorMedico = repository.findHorariosOcupadosByMedicoIdIn(idsMedicos,
+                        primeiraData.minusHours(1), ultimaData.plusHours(1))
+                .stream()
+                .collect(Collectors.groupingBy(HorarioOcupado::id,
+                        Collectors.mapping(HorarioOcupado::data, Collectors.toList())));
+
+        var erros = new HashMap<Integer, ValidacaoException>();
+        for (int i = 0; i < lote.size(); i++) {
+            var dados = lote.get(i);
+            if (consultasPorMedico.getOrDefault(dados.idMedico(), List.of()).stream()
+                    .anyMatch(data -> conflita(dados.data(), data))) {
+                erros.put(i, erro());
+            }
+        }
+        return erros;
+    }
+
+    private boolean conflita(LocalDateTime data, LocalDateTime inicioDaConsulta) {
+        var fimDaConsulta = inicioDaConsulta.plusHours(1);
+        return !data.isAfter(fimDaConsulta) && !data.isBefore(inicioDaConsulta.minusHours(1));
+    }
+
+    private ValidacaoException erro() {
+        return new ConflitoDeAgendaException(CodigoDeErro.MEDICO_COM_CONSULTA_NO_INTERVALO, "Médico já possui uma consulta agendada nesse intervalo");
     }
 }
@@ -1,11 +1,21 @@
 package med.voll.api.domain.consulta.validacoes.agendamentos;
 
 import lombok.NoArgsConstructor;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ConflitoDeAgendaException;
+import med.voll.api.domain.ValidacaoException;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
 import med.voll.api.domain.consulta.ConsultaRepository;
+import med.voll.api.domain.consulta.HorarioOcupado;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 @Component
 @NoArgsConstructor
 public class ValidadorPacienteSemOutraConsultaNoDia implements ValidadorAgendamentoDeConsulta {
@@ -24,8 +34,38 @@ public class ValidadorPacienteSemOutraConsultaNoDia implements ValidadorAgendame
                 dados.idPaciente(), null, primeiroHorario, ultimoHorario
         );
         if (pacientePossuiOutraConsultaNoDia) {
-            throw new RuntimeException("Paciente já possui uma consulta agendada nesse dia");
+            throw erro();
         }
     }
 
+    @Override
+    public Map<Integer, ValidacaoException> validarTodos(List<DadosAgendamentoConsulta> lote) {
+        var idsPacientes = lote.stream().map(DadosAgendamentoConsulta::idPaciente).collect(Collectors.toSet());
+        var primeiraData = lote.stream().map(DadosAgendamentoConsulta::data).min(LocalDateTime::compareTo).orElseThrow();
+        var ultimaData = lote.stream().map(DadosAgendamentoConsulta::data).max(LocalDateTime::compareTo).orElseThrow();
+        var consultasPorPaciente = repository.findHorariosOcupadosByPacienteIdIn(idsPacientes,
+                        primeiraData.toLocalDate().atStartOfDay(), ultimaData.toLocalDate().plusDays(1).atStartOfDay())
+                .stream()
+                .collect(Collectors.groupingBy(HorarioOcupado::id,
+                        Collectors.mapping(HorarioOcupado::data, Collectors.toList())));
+
+        var erros = new HashMap<Integer, ValidacaoException>();
+        for (int i = 0; i < lote.size(); i++) {
+            var dados = lote.get(i);
+            var primeiroHorario = dados.data().withHour(7);
+            var ultimoHorario = dados.data().withHour(18);
+            var pacientePossuiOutraConsultaNoDia = consultasPorPaciente.getOrDefault(dados.idPaciente(), List.of())
+                    .stream()
+                    .anyMatch(data -> !data.isBefore(primeiroHorario) && !data.isAfter(ultimoHorario));
+            if (pacientePossuiOutraConsultaNoDia) {
+                erros.put(i, erro());
+            }
+        }
+        return erros;
+    }
+
+    private ValidacaoException erro() {
+        return new ConflitoDeAgendaException(CodigoDeErro.PACIENTE_COM_CONSULTA_NO_DIA, "Paciente já possui uma consulta agendada nesse dia");
+    }
+
 }
@@ -1,38 +1,46 @@
 package med.voll.api.domain.consulta.validacoes.cancelamentos;
 
 import lombok.NoArgsConstructor;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.RegistroNaoEncontradoException;
+import med.voll.api.domain.ValidacaoException;
 import med.voll.api.domain.consulta.ConsultaRepository;
 import med.voll.api.domain.consulta.DadosCancelamentoConsulta;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.NoSuchElementException;
 
 @Component
 @NoArgsConstructor
 public class ValidadorHorarioAntecedenciaCancelamento implements ValidadorCancelamentoDeConsulta{
 
+    private static final Duration ANTECEDENCIA_MINIMA = Duration.ofHours(24);
+
     @Autowired
     private ConsultaRepository repository;
 
-    public ValidadorHorarioAntecedenciaCancelamento(ConsultaRepository repository) {
+    @Autowired
+    private Clock clock;
+
+    public ValidadorHorarioAntecedenciaCancelamento(ConsultaRepository repository, Clock clock) {
         this.repository = repository;
+        this.clock = clock;
     }
 
     public void validar(DadosCancelamentoConsulta dados) {
         try {
             var consulta = repository.findById(dados.idConsulta()).orElseThrow();
-            var dataConsulta = consulta.getData();
-            var agora = LocalDateTime.now();
-            var diferencaEmMinutos = Duration.between(agora, dataConsulta).toHours();
+            var inicioDaConsulta = consulta.getData().atZone(clock.getZone()).toInstant();
+            var antecedencia = Duration.between(clock.instant(), inicioDaConsulta);
 
-            if (diferencaEmMinutos < 24) {
-                throw new RuntimeException("Consulta só pode ser cancelada com antecedência de 24h");
+            if (antecedencia.compareTo(ANTECEDENCIA_MINIMA) < 0) {
+                throw new ValidacaoException(CodigoDeErro.ANTECEDENCIA_MINIMA_CANCELAMENTO, "Consulta só pode ser cancelada com antecedência de 24h");
             }
         } catch (NoSuchElementException exception) {
-            throw new RuntimeException("Consulta não encontrada");
+            throw new RegistroNaoEncontradoException(CodigoDeErro.CONSULTA_NAO_ENCONTRADA, "Consulta não encontrada");
         }
     }
 }
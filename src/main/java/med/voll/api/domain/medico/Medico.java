@@ -6,9 +6,31 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import med.voll.api.domain.endereco.Endereco;
+import med.voll.api.infra.sequencia.ReservaDeIds;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "medicos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "medicos")
+@NamedQuery(name = "Medico.findByAtivoTrueOrderByNomeAscIdAsc", query = """
+        select new med.voll.api.domain.medico.DadosListagemMedico(m.id, m.nome, m.email, m.crm, m.especialidade)
+            from Medico m
+            where m.ativo = true
+            order by m.nome, m.id
+        """)
+@NamedQuery(name = "Medico.findByAtivoTrueAposNomeEId", query = """
+        select new med.voll.api.domain.medico.DadosListagemMedico(m.id, m.nome, m.email, m.crm, m.especialidade)
+            from Medico m
+            where m.ativo = true
+            and (m.nome, m.id) > (:nome, :id)
+            order by m.nome, m.id
+        """)
+@NamedQuery(name = "Medico.findDetalhamentoById", query = """
+        select new med.voll.api.domain.medico.DadosDetalhamentoMedico(m.id, m.nome, m.email, m.telefone, m.crm, m.especialidade, m.endereco)
+            from Medico m
+            where m.id = :id
+        """)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +38,8 @@ import med.voll.api.domain.endereco.Endereco;
 public class Medico {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "medicos_id_seq")
+    @SequenceGenerator(name = "medicos_id_seq", sequenceName = "medicos_id_seq", allocationSize = ReservaDeIds.TAMANHO_DO_BLOCO)
     private Long id;
     private String nome;
     private String email;
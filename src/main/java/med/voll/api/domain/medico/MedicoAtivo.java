@@ -0,0 +1,14 @@
+package med.voll.api.domain.medico;
+
+/**
+ * O que o agendamento precisa saber de um médico ativo. Por ser imutável pode passar de uma thread para outra;
+ * a entidade é obtida na sessão de quem vai usá-la.
+ */
+public record MedicoAtivo(
+        Long id,
+        Especialidade especialidade
+) {
+    public MedicoAtivo(Medico medico) {
+        this(medico.getId(), medico.getEspecialidade());
+    }
+}
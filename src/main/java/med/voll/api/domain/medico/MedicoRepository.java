@@ -1,15 +1,43 @@
 package med.voll.api.domain.medico;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+@Transactional(readOnly = true)
 public interface MedicoRepository extends JpaRepository<Medico, Long> {
-    Page<Medico> findAllByAtivoTrue(Pageable paginacao);
+    // projeção derivada do nome do método: o Spring Data monta a consulta e a ordenação pela Criteria API,
+    // sem reprocessar o JPQL de um @Query a cada página
+    Page<DadosListagemMedico> findAllByAtivoTrue(Pageable paginacao);
+    // consultas nomeadas em Medico: o Spring Data não reprocessa o JPQL a cada chamada, como faz com @Query
+    Slice<DadosListagemMedico> findByAtivoTrueOrderByNomeAscIdAsc(Pageable paginacao);
+    Slice<DadosListagemMedico> findByAtivoTrueAposNomeEId(String nome, Long id, Pageable paginacao);
+    @Cacheable(cacheNames = "detalhamentoMedicos", unless = "#result == null")
+    Optional<DadosDetalhamentoMedico> findDetalhamentoById(Long id);
+    @Query("""
+            select new med.voll.api.domain.medico.DadosListagemMedico(m.id, m.nome, m.email, m.crm, m.especialidade)
+                from Medico m
+                where m.ativo = true
+                order by m.nome, m.id
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<DadosListagemMedico> exportarAtivos();
     @Query("""
             select m from Medico m
                 where m.ativo = true
@@ -22,10 +50,37 @@ public interface MedicoRepository extends JpaRepository<Medico, Long> {
                 limit 1
             """)
     Optional<Medico> findByEspecialidadeComDataLivre(Especialidade especialidade, LocalDateTime data);
+    // o cache guarda o record imutável; a entidade é de uma sessão só e não pode ser compartilhada entre transações
+    @Cacheable(cacheNames = "medicosAtivos", unless = "#result == null")
+    @Query("""
+            select new med.voll.api.domain.medico.MedicoAtivo(m.id, m.especialidade)
+                from Medico m
+                where m.ativo = true
+                and m.id = :id
+            """)
+    Optional<MedicoAtivo> findMedicoAtivoById(Long id);
+    @Query("""
+            select new med.voll.api.domain.medico.MedicoAtivo(m.id, m.especialidade)
+                from Medico m
+                where m.ativo = true
+                and m.id in :ids
+            """)
+    List<MedicoAtivo> findMedicosAtivosByIdIn(Collection<Long> ids);
     @Query("""
             select m from Medico m
                 where m.ativo = true
                 and m.id = :id
+                and m.especialidade = :especialidade
+                and m.id not in(
+                    select c.medico.id from Consulta c where c.data = :data
+                    and c.motivoCancelamento is null
+                )
+            """)
+    Optional<Medico> findAtivoComDataLivreById(Long id, Especialidade especialidade, LocalDateTime data);
+    @Query("""
+            select m.id from Medico m
+                where m.ativo = true
+                and m.especialidade = :especialidade
             """)
-    Optional<Medico> findAtivoById(Long id);
+    List<Long> findIdsAtivosByEspecialidade(Especialidade especialidade);
 }
@@ -0,0 +1,147 @@
+package med.voll.api.domain.medico;
+
+import jakarta.persistence.EntityNotFoundException;
+import med.voll.api.domain.consulta.IndiceDeHorariosLivres;
+import med.voll.api.infra.cache.BuscasEmAndamento;
+import med.voll.api.infra.datasource.LeiturasNoPrimario;
+import med.voll.api.infra.importacao.DadosResultadoImportacao;
+import med.voll.api.infra.importacao.ImportadorDeCadastros;
+import med.voll.api.infra.paginacao.CursorPorNome;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Service
+public class MedicoService {
+
+    @Autowired
+    private MedicoRepository repository;
+
+    @Autowired
+    private MedicoLoteRepository loteRepository;
+
+    @Autowired
+    private ImportadorDeCadastros importador;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private IndiceDeHorariosLivres indiceDeHorariosLivres;
+
+    private final BuscasEmAndamento<Long, Optional<MedicoAtivo>> buscasAtivos = new BuscasEmAndamento<>();
+
+    @Transactional
+    @CacheEvict(cacheNames = "horariosLivresEspecialidades", allEntries = true)
+    public Medico cadastrar(DadosCadastroMedico dados) {
+        var medico = new Medico(dados);
+        repository.save(medico);
+        indiceDeHorariosLivres.incluirMedico(medico.getEspecialidade(), medico.getId());
+        return medico;
+    }
+
+    @CacheEvict(cacheNames = "horariosLivresEspecialidades", allEntries = true)
+    public DadosResultadoImportacao importar(InputStream entrada, MediaType tipoDeConteudo) throws IOException {
+        var resultado = importador.importar(entrada, tipoDeConteudo, loteRepository);
+        if (resultado.importados() > 0) {
+            indiceDeHorariosLivres.invalidar();
+        }
+        return resultado;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = {"medicosAtivos", "detalhamentoMedicos"}, key = "#dados.id")
+    public DadosDetalhamentoMedico atualizar(DadosAtualizacaoMedico dados) {
+        var medico = repository.getReferenceById(dados.id());
+        medico.atualizarInformacoes(dados);
+        return new DadosDetalhamentoMedico(medico);
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = {"medicosAtivos", "detalhamentoMedicos"}, key = "#id"),
+            @CacheEvict(cacheNames = "horariosLivresEspecialidades", allEntries = true)
+    })
+    public void excluir(Long id) {
+        repository.getReferenceById(id).excluir();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DadosListagemMedico> listar(Pageable paginacao) {
+        return repository.findAllByAtivoTrue(paginacao);
+    }
+
+    /**
+     * Paginação por cursor: a próxima página começa depois do par (nome, id) informado em {@code after}, ou no início quando vazio.
+     */
+    @Transactional(readOnly = true)
+    public Slice<DadosListagemMedico> listar(String after, int tamanho) {
+        var limite = PageRequest.ofSize(tamanho);
+        return CursorPorNome.de(after)
+                .map(cursor -> repository.findByAtivoTrueAposNomeEId(cursor.nome(), cursor.id(), limite))
+                .orElseGet(() -> repository.findByAtivoTrueOrderByNomeAscIdAsc(limite));
+    }
+
+    /**
+     * O stream só pode ser lido dentro da transação de quem chamou.
+     */
+    @Transactional(readOnly = true)
+    public Stream<DadosListagemMedico> exportarAtivos() {
+        return repository.exportarAtivos();
+    }
+
+    @Transactional(readOnly = true)
+    public DadosDetalhamentoMedico detalhar(Long id) {
+        return LeiturasNoPrimario.executar(() -> repository.findDetalhamentoById(id))
+                .orElseThrow(EntityNotFoundException::new);
+    }
+
+    /**
+     * Buscas simultâneas pelo mesmo médico, comuns quando o cache {@code medicosAtivos} ainda não tem a entrada,
+     * viram uma única consulta ao banco. Só o {@link MedicoAtivo} passa de uma thread para outra; quem precisa da
+     * entidade usa {@code getReferenceById} na própria sessão.
+     */
+    public Optional<MedicoAtivo> findAtivoById(Long id) {
+        return buscasAtivos.buscar(id, idMedico -> LeiturasNoPrimario.executar(() -> repository.findMedicoAtivoById(idMedico)));
+    }
+
+    /**
+     * Médicos ativos entre os ids informados, indexados pelo id. Os que estão no cache {@code medicosAtivos} não
+     * são consultados; os demais vêm numa única consulta e entram no cache.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, MedicoAtivo> findAllAtivosById(Collection<Long> ids) {
+        var cache = cacheManager.getCache("medicosAtivos");
+        var medicos = new HashMap<Long, MedicoAtivo>();
+        var faltantes = new ArrayList<Long>();
+        for (var id : ids) {
+            var medico = cache.get(id, MedicoAtivo.class);
+            if (medico != null) {
+                medicos.put(id, medico);
+            } else {
+                faltantes.add(id);
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            for (var medico : LeiturasNoPrimario.executar(() -> repository.findMedicosAtivosByIdIn(faltantes))) {
+                cache.put(medico.id(), medico);
+                medicos.put(medico.id(), medico);
+            }
+        }
+        return medicos;
+    }
+}
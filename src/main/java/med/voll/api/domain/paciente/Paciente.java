@@ -6,9 +6,31 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import med.voll.api.domain.endereco.Endereco;
+import med.voll.api.infra.sequencia.ReservaDeIds;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "pacientes")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pacientes")
+@NamedQuery(name = "Paciente.findByAtivoTrueOrderByNomeAscIdAsc", query = """
+        select new med.voll.api.domain.paciente.DadosListagemPaciente(p.id, p.nome, p.email, p.cpf)
+            from Paciente p
+            where p.ativo = true
+            order by p.nome, p.id
+        """)
+@NamedQuery(name = "Paciente.findByAtivoTrueAposNomeEId", query = """
+        select new med.voll.api.domain.paciente.DadosListagemPaciente(p.id, p.nome, p.email, p.cpf)
+            from Paciente p
+            where p.ativo = true
+            and (p.nome, p.id) > (:nome, :id)
+            order by p.nome, p.id
+        """)
+@NamedQuery(name = "Paciente.findDetalhamentoById", query = """
+        select new med.voll.api.domain.paciente.DadosDetalhamentoPaciente(p.id, p.nome, p.email, p.telefone, p.cpf, p.endereco)
+            from Paciente p
+            where p.id = :id
+        """)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +38,8 @@ import med.voll.api.domain.endereco.Endereco;
 public class Paciente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pacientes_id_seq")
+    @SequenceGenerator(name = "pacientes_id_seq", sequenceName = "pacientes_id_seq", allocationSize = ReservaDeIds.TAMANHO_DO_BLOCO)
     private Long id;
     private String nome;
     private String email;
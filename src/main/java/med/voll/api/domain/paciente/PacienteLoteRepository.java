@@ -0,0 +1,92 @@
+package med.voll.api.domain.paciente;
+
+import io.micrometer.core.annotation.Timed;
+import med.voll.api.infra.importacao.CadastroEmLote;
+import med.voll.api.infra.sequencia.ReservaDeIds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.function.Function;
+
+@Repository
+@Timed("repositorios.jdbc")
+public class PacienteLoteRepository implements CadastroEmLote<DadosCadastroPaciente> {
+
+    // um único insert por lote; linhas que violam email ou cpf únicos são descartadas em vez de abortar o lote
+    private static final String INSERIR = """
+            insert into pacientes (id, nome, email, cpf, telefone, logradouro, bairro, cep, numero, complemento, uf, cidade, ativo)
+                select *, true from unnest(?::bigint[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[],
+                                           ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[])
+                on conflict do nothing
+                returning id
+            """;
+
+    private static final Map<String, String> EXISTENTES = Map.of(
+            "email", "select email from pacientes where email = any(?::varchar[])",
+            "cpf", "select cpf from pacientes where cpf = any(?::bpchar[])"
+    );
+
+    private static final Map<String, Function<DadosCadastroPaciente, String>> CAMPOS_UNICOS = Map.of(
+            "email", DadosCadastroPaciente::email,
+            "cpf", DadosCadastroPaciente::cpf
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservaDeIds reservaDeIds;
+
+    @Override
+    public Class<DadosCadastroPaciente> tipo() {
+        return DadosCadastroPaciente.class;
+    }
+
+    @Override
+    public Map<String, Function<DadosCadastroPaciente, String>> camposUnicos() {
+        return CAMPOS_UNICOS;
+    }
+
+    @Override
+    public Set<String> existentes(String campo, Collection<String> valores) {
+        var encontrados = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(EXISTENTES.get(campo));
+            ps.setArray(1, con.createArrayOf("varchar", valores.toArray()));
+            return ps;
+        }, (rs, i) -> rs.getString(1));
+        return new HashSet<>(encontrados);
+    }
+
+    @Override
+    public List<Long> inserirTodos(List<DadosCadastroPaciente> cadastros) {
+        if (cadastros.isEmpty()) {
+            return List.of();
+        }
+
+        var ids = reservaDeIds.reservar("pacientes_id_seq", cadastros.size());
+        var inseridos = new HashSet<>(jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(INSERIR);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            ps.setArray(2, con.createArrayOf("varchar", coluna(cadastros, DadosCadastroPaciente::nome)));
+            ps.setArray(3, con.createArrayOf("varchar", coluna(cadastros, DadosCadastroPaciente::email)));
+            ps.setArray(4, con.createArrayOf("varchar", coluna(cadastros, DadosCadastroPaciente::cpf)));
+            ps.setArray(5, con.createArrayOf("varchar", coluna(cadastros, DadosCadastroPaciente::telefone)));
+            ps.setArray(6, con.createArrayOf("varchar", coluna(cadastros, d -> d.endereco().logradouro())));
+            ps.setArray(7, con.createArrayOf("varchar", coluna(cadastros, d -> d.endereco().bairro())));
+            ps.setArray(8, con.createArrayOf("varchar", coluna(cadastros, d -> d.endereco().cep())));
+            ps.setArray(9, con.createArrayOf("varchar", coluna(cadastros, d -> d.endereco().numero())));
+            ps.setArray(10, con.createArrayOf("varchar", coluna(cadastros, d -> d.endereco().complemento())));
+            ps.setArray(11, con.createArrayOf("varchar", coluna(cadastros, d -> d.endereco().uf())));
+            ps.setArray(12, con.createArrayOf("varchar", coluna(cadastros, d -> d.endereco().cidade())));
+            return ps;
+        }, (rs, i) -> rs.getLong(1)));
+
+        return ids.stream().map(id -> inseridos.contains(id) ? id : null).toList();
+    }
+
+    private static Object[] coluna(List<DadosCadastroPaciente> cadastros, Function<DadosCadastroPaciente, String> campo) {
+        return cadastros.stream().map(campo).toArray();
+    }
+}
@@ -1,18 +1,54 @@
 package med.voll.api.domain.paciente;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+@Transactional(readOnly = true)
 public interface PacienteRepository extends JpaRepository<Paciente, Long> {
-    Page<Paciente> findAllByAtivoTrue(Pageable pageable);
-	@Query("""
-            select p from Paciente p
+    // projeção derivada do nome do método: o Spring Data monta a consulta e a ordenação pela Criteria API,
+    // sem reprocessar o JPQL de um @Query a cada página
+    Page<DadosListagemPaciente> findAllByAtivoTrue(Pageable pageable);
+    // consultas nomeadas em Paciente: o Spring Data não reprocessa o JPQL a cada chamada, como faz com @Query
+    Slice<DadosListagemPaciente> findByAtivoTrueOrderByNomeAscIdAsc(Pageable pageable);
+    Slice<DadosListagemPaciente> findByAtivoTrueAposNomeEId(String nome, Long id, Pageable pageable);
+    @Cacheable(cacheNames = "detalhamentoPacientes", unless = "#result == null")
+    Optional<DadosDetalhamentoPaciente> findDetalhamentoById(Long id);
+    @Query("""
+            select new med.voll.api.domain.paciente.DadosListagemPaciente(p.id, p.nome, p.email, p.cpf)
+                from Paciente p
+                where p.ativo = true
+                order by p.nome, p.id
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<DadosListagemPaciente> exportarAtivos();
+    // o cache guarda só o id; a entidade é de uma sessão só e não pode ser compartilhada entre transações
+    @Cacheable(cacheNames = "pacientesAtivos", unless = "#result == null")
+    @Query("""
+            select p.id from Paciente p
                 where p.ativo = true
                 and p.id = :id
             """)
-    Optional<Paciente> findAtivoById(Long id);
+    Optional<Long> findIdAtivoById(Long id);
+    @Query("""
+            select p.id from Paciente p
+                where p.ativo = true
+                and p.id in :ids
+            """)
+    List<Long> findIdsAtivosByIdIn(Collection<Long> ids);
 }
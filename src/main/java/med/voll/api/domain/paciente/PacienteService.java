@@ -0,0 +1,131 @@
+package med.voll.api.domain.paciente;
+
+import jakarta.persistence.EntityNotFoundException;
+import med.voll.api.infra.cache.BuscasEmAndamento;
+import med.voll.api.infra.datasource.LeiturasNoPrimario;
+import med.voll.api.infra.importacao.DadosResultadoImportacao;
+import med.voll.api.infra.importacao.ImportadorDeCadastros;
+import med.voll.api.infra.paginacao.CursorPorNome;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Service
+public class PacienteService {
+
+    @Autowired
+    private PacienteRepository repository;
+
+    @Autowired
+    private PacienteLoteRepository loteRepository;
+
+    @Autowired
+    private ImportadorDeCadastros importador;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final BuscasEmAndamento<Long, Optional<Long>> buscasAtivos = new BuscasEmAndamento<>();
+
+    @Transactional
+    public Paciente cadastrar(DadosCadastroPaciente dados) {
+        var paciente = new Paciente(dados);
+        repository.save(paciente);
+        return paciente;
+    }
+
+    public DadosResultadoImportacao importar(InputStream entrada, MediaType tipoDeConteudo) throws IOException {
+        return importador.importar(entrada, tipoDeConteudo, loteRepository);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = {"pacientesAtivos", "detalhamentoPacientes"}, key = "#dados.id")
+    public DadosDetalhamentoPaciente atualizar(DadosAtualizacaoPaciente dados) {
+        var paciente = repository.getReferenceById(dados.id());
+        paciente.atualizarInformacoes(dados);
+        return new DadosDetalhamentoPaciente(paciente);
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = {"pacientesAtivos", "detalhamentoPacientes"}, key = "#id")
+    public void excluir(Long id) {
+        repository.getReferenceById(id).excluir();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<DadosListagemPaciente> listar(Pageable paginacao) {
+        return repository.findAllByAtivoTrue(paginacao);
+    }
+
+    /**
+     * Paginação por cursor: a próxima página começa depois do par (nome, id) informado em {@code after}, ou no início quando vazio.
+     */
+    @Transactional(readOnly = true)
+    public Slice<DadosListagemPaciente> listar(String after, int tamanho) {
+        var limite = PageRequest.ofSize(tamanho);
+        return CursorPorNome.de(after)
+                .map(cursor -> repository.findByAtivoTrueAposNomeEId(cursor.nome(), cursor.id(), limite))
+                .orElseGet(() -> repository.findByAtivoTrueOrderByNomeAscIdAsc(limite));
+    }
+
+    /**
+     * O stream só pode ser lido dentro da transação de quem chamou.
+     */
+    @Transactional(readOnly = true)
+    public Stream<DadosListagemPaciente> exportarAtivos() {
+        return repository.exportarAtivos();
+    }
+
+    @Transactional(readOnly = true)
+    public DadosDetalhamentoPaciente detalhar(Long id) {
+        return LeiturasNoPrimario.executar(() -> repository.findDetalhamentoById(id))
+                .orElseThrow(EntityNotFoundException::new);
+    }
+
+    /**
+     * Buscas simultâneas pelo mesmo paciente, comuns quando o cache {@code pacientesAtivos} ainda não tem a entrada,
+     * viram uma única consulta ao banco. Só o id passa de uma thread para outra; quem precisa da entidade usa
+     * {@code getReferenceById} na própria sessão.
+     */
+    public Optional<Long> findIdAtivoById(Long id) {
+        return buscasAtivos.buscar(id, idPaciente -> LeiturasNoPrimario.executar(() -> repository.findIdAtivoById(idPaciente)));
+    }
+
+    /**
+     * Ids dos pacientes ativos entre os informados. Os que estão no cache {@code pacientesAtivos} não são
+     * consultados; os demais vêm numa única consulta e entram no cache.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findIdsAtivosById(Collection<Long> ids) {
+        var cache = cacheManager.getCache("pacientesAtivos");
+        var ativos = new HashSet<Long>();
+        var faltantes = new ArrayList<Long>();
+        for (var id : ids) {
+            if (cache.get(id, Long.class) != null) {
+                ativos.add(id);
+            } else {
+                faltantes.add(id);
+            }
+        }
+
+        if (!faltantes.isEmpty()) {
+            for (var idAtivo : LeiturasNoPrimario.executar(() -> repository.findIdsAtivosByIdIn(faltantes))) {
+                cache.put(idAtivo, idAtivo);
+                ativos.add(idAtivo);
+            }
+        }
+        return ativos;
+    }
+}
@@ -0,0 +1,43 @@
+package med.voll.api.infra.bloqueio;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Serializa apenas as transações que tocam os mesmos médicos/pacientes. Os bloqueios duram até o fim da
+ * transação corrente e são sempre adquiridos na mesma ordem: pacientes antes de médicos, cada grupo em
+ * ordem crescente.
+ */
+public interface BloqueioDeAgenda {
+
+    /**
+     * @return {@code true} se algum bloqueio foi de fato adquirido
+     */
+    boolean bloquear(Collection<Long> idsMedicos, Collection<Long> idsPacientes);
+
+    /**
+     * Bloqueia o médico sem esperar, para médicos escolhidos quando a transação já tem outros bloqueios: como
+     * nunca aguarda outra transação, pode ser chamado fora da ordem sem risco de espera circular.
+     *
+     * @return {@code false} se outra transação já tem o bloqueio
+     */
+    boolean tentarBloquearMedico(Long idMedico);
+
+    /**
+     * Desfaz o último {@link #tentarBloquearMedico} da transação, para o médico que foi bloqueado mas não escolhido:
+     * outras transações não precisam esperar o fim desta para tentar usá-lo.
+     */
+    void liberarMedico(Long idMedico);
+
+    /**
+     * Executa {@code transacao}, que abre a própria transação, com os médicos e pacientes já bloqueados quando o
+     * bloqueio não depende da conexão: a espera acontece antes de a transação tomar uma conexão do pool, e o
+     * {@link #bloquear} feito dentro dela com os mesmos ids não espera de novo. Dentro de uma transação já iniciada,
+     * ou quando o bloqueio é feito no banco, só executa.
+     */
+    default <T> T antesDaTransacao(Collection<Long> idsMedicos, Collection<Long> idsPacientes, Supplier<T> transacao) {
+        return transacao.get();
+    }
+
+    EstatisticasDeBloqueio estatisticas();
+}
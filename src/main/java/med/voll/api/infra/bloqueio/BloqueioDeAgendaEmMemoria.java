@@ -0,0 +1,166 @@
+package med.voll.api.infra.bloqueio;
+
+import med.voll.api.domain.AgendaOcupadaException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "api.agenda.bloqueio.modo", havingValue = "memoria")
+public class BloqueioDeAgendaEmMemoria implements BloqueioDeAgenda {
+
+    private final ReentrantLock[] listrasMedicos;
+
+    private final ReentrantLock[] listrasPacientes;
+
+    private final Duration tempoMaximoDeEspera;
+
+    private final TempoDeEspera tempoDeEspera = new TempoDeEspera();
+
+    public BloqueioDeAgendaEmMemoria(
+            @Value("${api.agenda.bloqueio.listras:1024}") int listras,
+            @Value("${api.agenda.bloqueio.tempo-maximo-de-espera:5s}") Duration tempoMaximoDeEspera) {
+        this.listrasMedicos = criarListras(listras);
+        this.listrasPacientes = criarListras(listras);
+        this.tempoMaximoDeEspera = tempoMaximoDeEspera;
+    }
+
+    @Override
+    public boolean bloquear(Collection<Long> idsMedicos, Collection<Long> idsPacientes) {
+        if (idsMedicos.isEmpty() && idsPacientes.isEmpty()) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Bloqueio de agenda exige uma transação ativa");
+        }
+
+        // listras já bloqueadas pelo antesDaTransacao desta thread: o tryLock reentrante não espera nem é contado
+        var jaBloqueadas = listras(listrasPacientes, idsPacientes).stream().allMatch(ReentrantLock::isHeldByCurrentThread)
+                && listras(listrasMedicos, idsMedicos).stream().allMatch(ReentrantLock::isHeldByCurrentThread);
+        var inicio = System.nanoTime();
+        var adquiridos = bloqueiosDaTransacao().adquiridos;
+        adquirir(listras(listrasPacientes, idsPacientes), adquiridos);
+        adquirir(listras(listrasMedicos, idsMedicos), adquiridos);
+        if (!jaBloqueadas) {
+            tempoDeEspera.registrar(inicio);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean tentarBloquearMedico(Long idMedico) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Bloqueio de agenda exige uma transação ativa");
+        }
+
+        var listra = listrasMedicos[Long.hashCode(idMedico) & (listrasMedicos.length - 1)];
+        if (!listra.tryLock()) {
+            return false;
+        }
+
+        bloqueiosDaTransacao().adquiridos.add(listra);
+        return true;
+    }
+
+    @Override
+    public void liberarMedico(Long idMedico) {
+        var bloqueios = (BloqueiosDaTransacao) TransactionSynchronizationManager.getResource(this);
+        var listra = listrasMedicos[Long.hashCode(idMedico) & (listrasMedicos.length - 1)];
+        // remove a última aquisição da listra: as anteriores, da mesma transação, continuam valendo
+        if (bloqueios != null && bloqueios.adquiridos.removeLastOccurrence(listra)) {
+            listra.unlock();
+        }
+    }
+
+    /**
+     * Sem transação ativa, a espera pelos bloqueios não segura nenhuma conexão; eles são liberados quando
+     * {@code transacao} termina, depois do commit ou do rollback.
+     */
+    @Override
+    public <T> T antesDaTransacao(Collection<Long> idsMedicos, Collection<Long> idsPacientes, Supplier<T> transacao) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transacao.get();
+        }
+
+        var adquiridos = new ArrayDeque<ReentrantLock>();
+        try {
+            var inicio = System.nanoTime();
+            adquirir(listras(listrasPacientes, idsPacientes), adquiridos);
+            adquirir(listras(listrasMedicos, idsMedicos), adquiridos);
+            tempoDeEspera.registrar(inicio);
+            return transacao.get();
+        } finally {
+            adquiridos.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    @Override
+    public EstatisticasDeBloqueio estatisticas() {
+        return tempoDeEspera.estatisticas();
+    }
+
+    private BloqueiosDaTransacao bloqueiosDaTransacao() {
+        var bloqueios = (BloqueiosDaTransacao) TransactionSynchronizationManager.getResource(this);
+        if (bloqueios == null) {
+            bloqueios = new BloqueiosDaTransacao();
+            TransactionSynchronizationManager.bindResource(this, bloqueios);
+            TransactionSynchronizationManager.registerSynchronization(bloqueios);
+        }
+        return bloqueios;
+    }
+
+    private List<ReentrantLock> listras(ReentrantLock[] listras, Collection<Long> ids) {
+        var indices = new TreeSet<Integer>();
+        ids.forEach(id -> indices.add(Long.hashCode(id) & (listras.length - 1)));
+        return indices.stream().map(indice -> listras[indice]).toList();
+    }
+
+    private void adquirir(List<ReentrantLock> listras, Deque<ReentrantLock> adquiridos) {
+        for (var listra : listras) {
+            try {
+                if (!listra.tryLock(tempoMaximoDeEspera.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new AgendaOcupadaException();
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new AgendaOcupadaException();
+            }
+            adquiridos.add(listra);
+        }
+    }
+
+    /**
+     * Listras adquiridas na transação corrente, na ordem de aquisição, liberadas quando ela termina.
+     */
+    private class BloqueiosDaTransacao implements TransactionSynchronization {
+
+        private final Deque<ReentrantLock> adquiridos = new ArrayDeque<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BloqueioDeAgendaEmMemoria.this);
+            adquiridos.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    private static ReentrantLock[] criarListras(int quantidade) {
+        var potenciaDeDois = Integer.highestOneBit(Math.max(1, quantidade - 1)) << 1;
+        var listras = new ReentrantLock[potenciaDeDois];
+        for (int i = 0; i < listras.length; i++) {
+            listras[i] = new ReentrantLock();
+        }
+        return listras;
+    }
+}
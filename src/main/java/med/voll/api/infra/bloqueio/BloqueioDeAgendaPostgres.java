@@ -0,0 +1,127 @@
+package med.voll.api.infra.bloqueio;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Savepoint;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.TreeSet;
+
+@Component
+@ConditionalOnProperty(name = "api.agenda.bloqueio.modo", havingValue = "postgres")
+public class BloqueioDeAgendaPostgres implements BloqueioDeAgenda {
+
+    private static final int CLASSE_PACIENTE = 1;
+
+    private static final int CLASSE_MEDICO = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final TempoDeEspera tempoDeEspera = new TempoDeEspera();
+
+    @Override
+    public boolean bloquear(Collection<Long> idsMedicos, Collection<Long> idsPacientes) {
+        if (idsMedicos.isEmpty() && idsPacientes.isEmpty()) {
+            return false;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Bloqueio de agenda exige uma transação ativa");
+        }
+
+        var inicio = System.nanoTime();
+        adquirir(CLASSE_PACIENTE, idsPacientes);
+        adquirir(CLASSE_MEDICO, idsMedicos);
+        tempoDeEspera.registrar(inicio);
+        return true;
+    }
+
+    /**
+     * O bloqueio fica num savepoint próprio: o {@link #liberarMedico} volta até ele, o que solta o advisory lock
+     * antes do fim da transação. As pendências do contexto de persistência são gravadas antes, para o rollback
+     * até o savepoint não desfazer o que o Hibernate já considera gravado.
+     */
+    @Override
+    public boolean tentarBloquearMedico(Long idMedico) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Bloqueio de agenda exige uma transação ativa");
+        }
+
+        entityManager.flush();
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            var savepoint = conexao.setSavepoint();
+            var bloqueou = jdbcTemplate.queryForObject("select pg_try_advisory_xact_lock(?, ?)", Boolean.class,
+                    CLASSE_MEDICO, Long.hashCode(idMedico));
+            if (Boolean.TRUE.equals(bloqueou)) {
+                savepointsDaTransacao().push(new BloqueioEmSavepoint(idMedico, savepoint));
+            } else {
+                conexao.releaseSavepoint(savepoint);
+            }
+            return bloqueou;
+        }));
+    }
+
+    /**
+     * Só o último médico bloqueado pode ser liberado: voltar a um savepoint anterior soltaria também os bloqueios
+     * feitos depois dele. Para os demais, o bloqueio dura até o fim da transação.
+     */
+    @Override
+    public void liberarMedico(Long idMedico) {
+        if (!TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        var savepoints = savepointsDaTransacao();
+        if (savepoints.isEmpty() || !savepoints.peek().idMedico().equals(idMedico)) {
+            return;
+        }
+
+        var bloqueio = savepoints.pop();
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexao -> {
+            conexao.rollback(bloqueio.savepoint());
+            conexao.releaseSavepoint(bloqueio.savepoint());
+            return null;
+        });
+    }
+
+    @Override
+    public EstatisticasDeBloqueio estatisticas() {
+        return tempoDeEspera.estatisticas();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Deque<BloqueioEmSavepoint> savepointsDaTransacao() {
+        var savepoints = (Deque<BloqueioEmSavepoint>) TransactionSynchronizationManager.getResource(this);
+        if (savepoints == null) {
+            var novos = new ArrayDeque<BloqueioEmSavepoint>();
+            TransactionSynchronizationManager.bindResource(this, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BloqueioDeAgendaPostgres.this);
+                }
+            });
+            savepoints = novos;
+        }
+        return savepoints;
+    }
+
+    private void adquirir(int classe, Collection<Long> ids) {
+        var chaves = new TreeSet<Integer>();
+        ids.forEach(id -> chaves.add(Long.hashCode(id)));
+        chaves.forEach(chave -> jdbcTemplate.query("select pg_advisory_xact_lock(?, ?)", rs -> null, classe, chave));
+    }
+
+    private record BloqueioEmSavepoint(Long idMedico, Savepoint savepoint) {
+    }
+}
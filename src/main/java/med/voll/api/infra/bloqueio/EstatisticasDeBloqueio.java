@@ -0,0 +1,10 @@
+package med.voll.api.infra.bloqueio;
+
+import java.time.Duration;
+
+public record EstatisticasDeBloqueio(
+        Long bloqueios,
+        Duration tempoTotalDeEspera,
+        Duration maiorTempoDeEspera
+) {
+}
@@ -0,0 +1,31 @@
+package med.voll.api.infra.bloqueio;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+@Component
+@ConditionalOnProperty(name = "api.agenda.bloqueio.modo", havingValue = "nenhum", matchIfMissing = true)
+public class SemBloqueioDeAgenda implements BloqueioDeAgenda {
+
+    @Override
+    public boolean bloquear(Collection<Long> idsMedicos, Collection<Long> idsPacientes) {
+        return false;
+    }
+
+    @Override
+    public boolean tentarBloquearMedico(Long idMedico) {
+        return true;
+    }
+
+    @Override
+    public void liberarMedico(Long idMedico) {
+    }
+
+    @Override
+    public EstatisticasDeBloqueio estatisticas() {
+        return new EstatisticasDeBloqueio(0L, Duration.ZERO, Duration.ZERO);
+    }
+}
@@ -0,0 +1,26 @@
+package med.voll.api.infra.bloqueio;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+class TempoDeEspera {
+
+    private final LongAdder bloqueios = new LongAdder();
+
+    private final LongAdder nanosTotais = new LongAdder();
+
+    private final LongAccumulator maiorEmNanos = new LongAccumulator(Math::max, 0);
+
+    void registrar(long inicioEmNanos) {
+        var espera = System.nanoTime() - inicioEmNanos;
+        bloqueios.increment();
+        nanosTotais.add(espera);
+        maiorEmNanos.accumulate(espera);
+    }
+
+    EstatisticasDeBloqueio estatisticas() {
+        return new EstatisticasDeBloqueio(bloqueios.sum(), Duration.ofNanos(nanosTotais.sum()),
+                Duration.ofNanos(maiorEmNanos.get()));
+    }
+}
@@ -0,0 +1,48 @@
+package med.voll.api.infra.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Junta buscas simultâneas pela mesma chave: a primeira thread consulta o banco e as que chegarem enquanto ela
+ * não terminou recebem o mesmo resultado. Nada fica guardado depois que a busca termina; quem guarda é o cache.
+ * O resultado é entregue a threads em outras transações, então deve ser imutável: nunca uma entidade gerenciada
+ * pela sessão de quem fez a busca.
+ */
+public class BuscasEmAndamento<K, V> {
+
+    private final Map<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    public V buscar(K chave, Function<K, V> busca) {
+        var nova = new CompletableFuture<V>();
+        var existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            return aguardar(existente);
+        }
+
+        try {
+            var resultado = busca.apply(chave);
+            nova.complete(resultado);
+            return resultado;
+        } catch (RuntimeException exception) {
+            nova.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            emAndamento.remove(chave, nova);
+        }
+    }
+
+    private V aguardar(CompletableFuture<V> busca) {
+        try {
+            return busca.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw exception;
+        }
+    }
+}
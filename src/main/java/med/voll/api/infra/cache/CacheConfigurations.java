@@ -0,0 +1,29 @@
+package med.voll.api.infra.cache;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfigurations {
+
+    /**
+     * Dentro de uma transação, inclusões e remoções nos caches só acontecem após o commit:
+     * um rollback não deixa no cache um médico/paciente que não foi gravado nem remove uma entrada ainda válida.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheProperties properties) {
+        var caffeine = new CaffeineCacheManager();
+        caffeine.setCacheSpecification(properties.getCaffeine().getSpec());
+        caffeine.setCacheNames(properties.getCacheNames());
+        return new TransactionAwareCacheManagerProxy(caffeine);
+    }
+
+}
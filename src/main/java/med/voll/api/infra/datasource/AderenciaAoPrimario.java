@@ -0,0 +1,53 @@
+package med.voll.api.infra.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Usuários que gravaram algo há menos de {@code janela} continuam lendo do primário, para não verem na réplica,
+ * ainda atrasada, um estado anterior à própria escrita (a consulta recém-agendada sumindo da listagem, por exemplo).
+ */
+public class AderenciaAoPrimario {
+
+    private final Cache<String, Instant> escritas;
+
+    private final Duration janela;
+
+    private final Clock clock;
+
+    public AderenciaAoPrimario(Duration janela, long tamanhoMaximo, Clock clock) {
+        this.janela = janela;
+        this.clock = clock;
+        this.escritas = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(janela)
+                .build();
+    }
+
+    public void registrarEscrita() {
+        var usuario = usuarioAtual();
+        if (usuario != null) {
+            escritas.put(usuario, clock.instant().plus(janela));
+        }
+    }
+
+    public boolean deveLerDoPrimario() {
+        var usuario = usuarioAtual();
+        if (usuario == null) {
+            return false;
+        }
+
+        var ate = escritas.getIfPresent(usuario);
+        return ate != null && clock.instant().isBefore(ate);
+    }
+
+    private String usuarioAtual() {
+        var autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null && autenticacao.isAuthenticated() ? autenticacao.getName() : null;
+    }
+}
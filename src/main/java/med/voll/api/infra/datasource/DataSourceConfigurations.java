@@ -0,0 +1,61 @@
+package med.voll.api.infra.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Ativada quando {@code api.datasource.replica.url} está definida: o pool configurado em {@code spring.datasource}
+ * continua sendo o primário e um segundo pool, com as propriedades em {@code api.datasource.replica}, atende as
+ * transações somente leitura. Usuário e senha da réplica, quando omitidos, são os do primário.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.datasource.replica.url")
+public class DataSourceConfigurations {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primario(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("api.datasource.replica.hikari")
+    public HikariDataSource replica(DataSourceProperties properties,
+                                    @Value("${api.datasource.replica.url}") String url,
+                                    @Value("${api.datasource.replica.username:${spring.datasource.username:}}") String usuario,
+                                    @Value("${api.datasource.replica.password:${spring.datasource.password:}}") String senha) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url)
+                .username(usuario)
+                .password(senha)
+                .build();
+    }
+
+    @Bean
+    public AderenciaAoPrimario aderenciaAoPrimario(@Value("${api.datasource.replica.aderencia.janela:5s}") Duration janela,
+                                                   @Value("${api.datasource.replica.aderencia.tamanho-maximo:10000}") long tamanhoMaximo,
+                                                   Clock clock) {
+        return new AderenciaAoPrimario(janela, tamanhoMaximo, clock);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primario") DataSource primario, @Qualifier("replica") DataSource replica,
+                                 AderenciaAoPrimario aderencia) {
+        var roteamento = new RoteamentoDeLeituras(primario, replica, aderencia);
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
@@ -0,0 +1,35 @@
+package med.voll.api.infra.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Leituras cujo resultado vai para um cache: mesmo em transação somente leitura, o {@link RoteamentoDeLeituras}
+ * as envia ao primário. Lida da réplica logo depois de uma remoção no cache, a linha ainda atrasada voltaria para o
+ * cache e ficaria lá até expirar. A conexão é escolhida no primeiro comando da transação, então a leitura precisa
+ * ser o primeiro acesso ao banco da transação ou ter a própria transação.
+ */
+public final class LeiturasNoPrimario {
+
+    private static final ThreadLocal<Boolean> ATIVAS = ThreadLocal.withInitial(() -> false);
+
+    private LeiturasNoPrimario() {
+    }
+
+    public static <T> T executar(Supplier<T> leitura) {
+        var anterior = ATIVAS.get();
+        ATIVAS.set(true);
+        try {
+            return leitura.get();
+        } finally {
+            if (anterior) {
+                ATIVAS.set(true);
+            } else {
+                ATIVAS.remove();
+            }
+        }
+    }
+
+    static boolean ativas() {
+        return ATIVAS.get();
+    }
+}
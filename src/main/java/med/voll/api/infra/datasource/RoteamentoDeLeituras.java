@@ -0,0 +1,40 @@
+package med.voll.api.infra.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Envia as transações {@code readOnly} para a réplica e todo o resto para o primário. Precisa ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: o gerenciador de transações pede a
+ * conexão antes de marcar a transação como somente leitura, e o proxy adia a escolha até o primeiro comando.
+ * As {@link LeiturasNoPrimario} e as de quem gravou há pouco ({@link AderenciaAoPrimario}) ficam no primário.
+ */
+public class RoteamentoDeLeituras extends AbstractRoutingDataSource {
+
+    enum Destino {PRIMARIO, REPLICA}
+
+    private final AderenciaAoPrimario aderencia;
+
+    public RoteamentoDeLeituras(DataSource primario, DataSource replica, AderenciaAoPrimario aderencia) {
+        this.aderencia = aderencia;
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Destino.PRIMARIO;
+        }
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            aderencia.registrarEscrita();
+            return Destino.PRIMARIO;
+        }
+
+        return LeiturasNoPrimario.ativas() || aderencia.deveLerDoPrimario() ? Destino.PRIMARIO : Destino.REPLICA;
+    }
+}
@@ -1,12 +1,21 @@
 package med.voll.api.infra.exception;
 
 import jakarta.persistence.EntityNotFoundException;
+import med.voll.api.domain.AgendaOcupadaException;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ConflitoDeAgendaException;
+import med.voll.api.domain.RegistroNaoEncontradoException;
+import med.voll.api.domain.ValidacaoException;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -31,11 +40,43 @@ public class TratadorDeErros {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity tratarErroRegraDeNegocio(RuntimeException ex) {
+    @ExceptionHandler(TypeMismatchException.class)
+    public ResponseEntity tratarErro400(TypeMismatchException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity tratarErro503() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Serviço sobrecarregado, tente novamente");
+    }
+
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity tratarErroRegraDeNegocio(ValidacaoException ex) {
+        return ResponseEntity.badRequest().body(new DadosErro(ex));
+    }
+
+    @ExceptionHandler(ConflitoDeAgendaException.class)
+    public ResponseEntity tratarErroConflitoDeAgenda(ConflitoDeAgendaException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new DadosErro(ex));
+    }
+
+    @ExceptionHandler(RegistroNaoEncontradoException.class)
+    public ResponseEntity tratarErroRegistroNaoEncontrado(RegistroNaoEncontradoException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new DadosErro(ex));
+    }
+
+    @ExceptionHandler(AgendaOcupadaException.class)
+    public ResponseEntity tratarErroAgendaOcupada(AgendaOcupadaException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new DadosErro(ex));
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity tratarErroIntegridade() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("Registro conflita com dados já cadastrados");
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity tratarErroBadCredentials() {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Credenciais inválidas");
@@ -61,4 +102,10 @@ public class TratadorDeErros {
             this(erro.getField(), erro.getDefaultMessage());
         }
     }
+
+    private record DadosErro(CodigoDeErro codigo, String mensagem) {
+        public DadosErro(ValidacaoException ex) {
+            this(ex.getCodigo(), ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,43 @@
+package med.voll.api.infra.exportacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Escreve cada registro como uma linha JSON direto na resposta, à medida que é lido do banco.
+ * O gerador só descarrega quando o buffer enche, então a memória usada não depende do tamanho da exportação.
+ */
+@Component
+public class ExportadorNdjson {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private final ObjectMapper mapper;
+
+    private final ObjectWriter writer;
+
+    public ExportadorNdjson(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public <T> void exportar(Stream<T> registros, HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (registros; var gerador = mapper.getFactory().createGenerator(response.getOutputStream())) {
+            gerador.setRootValueSeparator(null);
+            for (var iterator = registros.iterator(); iterator.hasNext(); ) {
+                writer.writeValue(gerador, iterator.next());
+                gerador.writeRaw('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package med.voll.api.infra.importacao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Gravação em lote de um tipo de cadastro usada pelo {@link ImportadorDeCadastros}.
+ */
+public interface CadastroEmLote<T> {
+
+    Class<T> tipo();
+
+    /**
+     * Colunas com restrição unique, cada uma com o campo do cadastro que a preenche.
+     */
+    Map<String, Function<T, String>> camposUnicos();
+
+    Set<String> existentes(String campo, Collection<String> valores);
+
+    /**
+     * Devolve o id gravado de cada cadastro, na mesma ordem, ou null para os que conflitaram
+     * com um registro gravado por outra transação depois da verificação.
+     */
+    List<Long> inserirTodos(List<T> cadastros);
+}
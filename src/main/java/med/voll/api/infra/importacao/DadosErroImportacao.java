@@ -0,0 +1,4 @@
+package med.voll.api.infra.importacao;
+
+public record DadosErroImportacao(long linha, String campo, String mensagem) {
+}
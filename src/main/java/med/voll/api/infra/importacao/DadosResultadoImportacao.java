@@ -0,0 +1,6 @@
+package med.voll.api.infra.importacao;
+
+import java.util.List;
+
+public record DadosResultadoImportacao(long total, long importados, List<DadosErroImportacao> erros) {
+}
@@ -0,0 +1,205 @@
+package med.voll.api.infra.importacao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.Validator;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ValidacaoException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Lê cadastros em NDJSON ou CSV sem carregar o arquivo inteiro: cada linha é validada ao ser lida e as válidas
+ * são gravadas em lotes de {@value #TAMANHO_DO_LOTE}. Linhas rejeitadas não interrompem a importação, só entram
+ * no relatório de erros com o número da linha.
+ */
+@Component
+public class ImportadorDeCadastros {
+
+    public static final String TEXT_CSV = "text/csv";
+
+    static final int TAMANHO_DO_LOTE = 1000;
+
+    private static final MediaType TEXT_CSV_TYPE = MediaType.parseMediaType(TEXT_CSV);
+
+    private final ObjectMapper mapper;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    private final Validator validator;
+
+    public ImportadorDeCadastros(ObjectMapper mapper, Validator validator) {
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    public <T> DadosResultadoImportacao importar(InputStream entrada, MediaType tipoDeConteudo, CadastroEmLote<T> lote) throws IOException {
+        var charset = tipoDeConteudo.getCharset() != null ? tipoDeConteudo.getCharset() : StandardCharsets.UTF_8;
+        var importacao = new Importacao<>(lote);
+
+        try (var leitor = new BufferedReader(new InputStreamReader(entrada, charset))) {
+            if (TEXT_CSV_TYPE.isCompatibleWith(tipoDeConteudo)) {
+                lerCsv(leitor, importacao);
+            } else {
+                lerNdjson(leitor, importacao);
+            }
+        }
+
+        importacao.gravarPendentes();
+        return importacao.resultado();
+    }
+
+    private <T> void lerNdjson(BufferedReader leitor, Importacao<T> importacao) throws IOException {
+        var reader = mapper.readerFor(importacao.lote.tipo());
+        long numero = 0;
+        for (var linha = leitor.readLine(); linha != null; linha = leitor.readLine()) {
+            numero++;
+            if (linha.isBlank()) {
+                continue;
+            }
+
+            try {
+                importacao.adicionar(numero, reader.readValue(linha));
+            } catch (JsonProcessingException e) {
+                importacao.rejeitar(numero, null, e.getOriginalMessage());
+            }
+        }
+    }
+
+    /**
+     * A primeira linha traz os nomes das colunas; campos aninhados usam o caminho com ponto, como {@code endereco.cep}.
+     */
+    private <T> void lerCsv(Reader leitor, Importacao<T> importacao) throws IOException {
+        var schema = CsvSchema.emptySchema().withHeader();
+        try (var linhas = csvMapper.readerForMapOf(String.class).with(schema).<Map<String, String>>readValues(leitor)) {
+            long numero = 1;
+            while (linhas.hasNextValue()) {
+                var colunas = linhas.nextValue();
+                numero++;
+                try {
+                    importacao.adicionar(numero, mapper.treeToValue(aninhar(colunas), importacao.lote.tipo()));
+                } catch (JsonProcessingException e) {
+                    importacao.rejeitar(numero, null, e.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new ValidacaoException(CodigoDeErro.ARQUIVO_INVALIDO, "CSV inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private JsonNode aninhar(Map<String, String> colunas) {
+        var raiz = mapper.createObjectNode();
+        colunas.forEach((coluna, valor) -> {
+            if (valor == null || valor.isEmpty()) {
+                return;
+            }
+
+            var caminho = coluna.trim().split("\\.");
+            var no = raiz;
+            for (int i = 0; i < caminho.length - 1; i++) {
+                no = no.get(caminho[i]) instanceof ObjectNode filho ? filho : no.putObject(caminho[i]);
+            }
+            no.put(caminho[caminho.length - 1], valor);
+        });
+        return raiz;
+    }
+
+    private final class Importacao<T> {
+
+        private final CadastroEmLote<T> lote;
+
+        private final Map<String, Set<String>> vistos = new HashMap<>();
+
+        private final List<Linha<T>> pendentes = new ArrayList<>(TAMANHO_DO_LOTE);
+
+        private final List<DadosErroImportacao> erros = new ArrayList<>();
+
+        private long total;
+
+        private long importados;
+
+        private Importacao(CadastroEmLote<T> lote) {
+            this.lote = lote;
+            lote.camposUnicos().keySet().forEach(campo -> vistos.put(campo, new HashSet<>()));
+        }
+
+        void adicionar(long numero, T cadastro) {
+            total++;
+            var violacoes = validator.validate(cadastro);
+            if (!violacoes.isEmpty()) {
+                violacoes.forEach(v -> erros.add(new DadosErroImportacao(numero, v.getPropertyPath().toString(), v.getMessage())));
+                return;
+            }
+
+            for (var unico : lote.camposUnicos().entrySet()) {
+                if (vistos.get(unico.getKey()).contains(unico.getValue().apply(cadastro))) {
+                    erros.add(new DadosErroImportacao(numero, unico.getKey(), "repetido no arquivo"));
+                    return;
+                }
+            }
+            lote.camposUnicos().forEach((campo, valor) -> vistos.get(campo).add(valor.apply(cadastro)));
+
+            pendentes.add(new Linha<>(numero, cadastro));
+            if (pendentes.size() >= TAMANHO_DO_LOTE) {
+                gravarPendentes();
+            }
+        }
+
+        void rejeitar(long numero, String campo, String mensagem) {
+            total++;
+            erros.add(new DadosErroImportacao(numero, campo, mensagem));
+        }
+
+        void gravarPendentes() {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+
+            for (var unico : lote.camposUnicos().entrySet()) {
+                var valores = pendentes.stream().map(l -> unico.getValue().apply(l.cadastro())).toList();
+                var existentes = lote.existentes(unico.getKey(), valores);
+                if (existentes.isEmpty()) {
+                    continue;
+                }
+
+                pendentes.removeIf(linha -> {
+                    var cadastrado = existentes.contains(unico.getValue().apply(linha.cadastro()));
+                    if (cadastrado) {
+                        erros.add(new DadosErroImportacao(linha.numero(), unico.getKey(), "já cadastrado"));
+                    }
+                    return cadastrado;
+                });
+            }
+
+            var ids = lote.inserirTodos(pendentes.stream().map(Linha::cadastro).toList());
+            for (int i = 0; i < pendentes.size(); i++) {
+                if (ids.get(i) != null) {
+                    importados++;
+                } else {
+                    erros.add(new DadosErroImportacao(pendentes.get(i).numero(), null, "conflita com registro cadastrado durante a importação"));
+                }
+            }
+            pendentes.clear();
+        }
+
+        DadosResultadoImportacao resultado() {
+            erros.sort(Comparator.comparingLong(DadosErroImportacao::linha));
+            return new DadosResultadoImportacao(total, importados, erros);
+        }
+    }
+
+    private record Linha<T>(long numero, T cadastro) {
+    }
+}
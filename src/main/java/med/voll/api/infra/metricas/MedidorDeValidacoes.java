@@ -0,0 +1,64 @@
+package med.voll.api.infra.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import med.voll.api.domain.ValidacaoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Mede o tempo de cada validador de agendamento/cancelamento (agenda.validacoes) e conta as rejeições
+ * de cada regra (agenda.validacoes.rejeicoes), tanto nas validações avulsas quanto nas de lote.
+ */
+@Component
+public class MedidorDeValidacoes {
+
+    public static final String AGENDAMENTO = "agendamento";
+    public static final String CANCELAMENTO = "cancelamento";
+
+    @Autowired
+    private MeterRegistry registry;
+
+    public void validar(String tipo, Object validador, Runnable validacao) {
+        var sample = Timer.start(registry);
+        try {
+            validacao.run();
+        } catch (ValidacaoException exception) {
+            rejeicoes(tipo, validador).increment();
+            throw exception;
+        } finally {
+            sample.stop(timer(tipo, validador));
+        }
+    }
+
+    public <T> Map<Integer, T> validarTodos(String tipo, Object validador, Supplier<Map<Integer, T>> validacao) {
+        var erros = timer(tipo, validador).record(validacao);
+        if (!erros.isEmpty()) {
+            rejeicoes(tipo, validador).increment(erros.size());
+        }
+        return erros;
+    }
+
+    private Timer timer(String tipo, Object validador) {
+        return Timer.builder("agenda.validacoes")
+                .tag("tipo", tipo)
+                .tag("validador", nome(validador))
+                .register(registry);
+    }
+
+    private Counter rejeicoes(String tipo, Object validador) {
+        return Counter.builder("agenda.validacoes.rejeicoes")
+                .tag("tipo", tipo)
+                .tag("validador", nome(validador))
+                .register(registry);
+    }
+
+    private String nome(Object validador) {
+        return ClassUtils.getUserClass(validador).getSimpleName();
+    }
+}
@@ -0,0 +1,43 @@
+package med.voll.api.infra.metricas;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import med.voll.api.infra.bloqueio.BloqueioDeAgenda;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricasConfigurations {
+
+    /**
+     * Habilita o {@code @Timed} usado no TokenService e nos repositórios escritos com JdbcTemplate;
+     * os repositórios do Spring Data já são medidos pelo Actuator em spring.data.repository.invocations.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder metricasDeBloqueio(BloqueioDeAgenda bloqueioDeAgenda,
+                                          @Value("${api.agenda.bloqueio.modo:nenhum}") String modo) {
+        return registry -> {
+            FunctionTimer.builder("agenda.bloqueios", bloqueioDeAgenda,
+                            bloqueio -> bloqueio.estatisticas().bloqueios(),
+                            bloqueio -> bloqueio.estatisticas().tempoTotalDeEspera().toNanos(), TimeUnit.NANOSECONDS)
+                    .description("Bloqueios de médicos/pacientes adquiridos e o tempo total de espera por eles")
+                    .tag("modo", modo)
+                    .register(registry);
+            TimeGauge.builder("agenda.bloqueios.espera.maxima", bloqueioDeAgenda, TimeUnit.NANOSECONDS,
+                            bloqueio -> bloqueio.estatisticas().maiorTempoDeEspera().toNanos())
+                    .tag("modo", modo)
+                    .register(registry);
+        };
+    }
+}
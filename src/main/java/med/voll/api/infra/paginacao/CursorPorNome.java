@@ -0,0 +1,25 @@
+package med.voll.api.infra.paginacao;
+
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ValidacaoException;
+
+import java.util.Optional;
+
+/**
+ * Posição de uma listagem ordenada por nome e id, informada como {@code ?after=<nome>,<id>} do último registro recebido.
+ */
+public record CursorPorNome(String nome, Long id) {
+
+    public static Optional<CursorPorNome> de(String after) {
+        if (after.isBlank()) {
+            return Optional.empty();
+        }
+
+        var separador = after.lastIndexOf(',');
+        try {
+            return Optional.of(new CursorPorNome(after.substring(0, separador), Long.valueOf(after.substring(separador + 1).trim())));
+        } catch (IndexOutOfBoundsException | NumberFormatException exception) {
+            throw new ValidacaoException(CodigoDeErro.CURSOR_INVALIDO, "Cursor de paginação inválido, use o formato nome,id");
+        }
+    }
+}
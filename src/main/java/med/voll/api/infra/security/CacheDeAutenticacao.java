@@ -0,0 +1,82 @@
+package med.voll.api.infra.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+@Component
+public class CacheDeAutenticacao {
+
+    private final Cache<String, UsuarioAutenticado> cache;
+
+    public CacheDeAutenticacao(@Value("${api.security.token.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                               Clock clock) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraComOToken(clock))
+                .build();
+    }
+
+    public UserDetails buscar(String tokenJWT, Function<String, UsuarioAutenticado> autenticar) {
+        return buscar(tokenJWT, autenticar, kid -> true);
+    }
+
+    /**
+     * @param chaveAceita se a chave que assinou o token guardado deixou de ser aceita, o token é autenticado de novo
+     */
+    public UserDetails buscar(String tokenJWT, Function<String, UsuarioAutenticado> autenticar, Predicate<String> chaveAceita) {
+        var autenticado = cache.get(tokenJWT, autenticar);
+        if (autenticado != null && !chaveAceita.test(autenticado.kid())) {
+            cache.invalidate(tokenJWT);
+            autenticado = cache.get(tokenJWT, autenticar);
+        }
+        return autenticado != null ? autenticado.usuario() : null;
+    }
+
+    public void invalidarToken(String tokenJWT) {
+        cache.invalidate(tokenJWT);
+    }
+
+    public void invalidarUsuario(String login) {
+        cache.asMap().values().removeIf(autenticado -> autenticado.usuario().getUsername().equals(login));
+    }
+
+    public record UsuarioAutenticado(UserDetails usuario, Instant expiracao, String kid) {
+    }
+
+    private static class ExpiraComOToken implements Expiry<String, UsuarioAutenticado> {
+
+        private final Clock clock;
+
+        private ExpiraComOToken(Clock clock) {
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(String tokenJWT, UsuarioAutenticado autenticado, long agora) {
+            if (autenticado.expiracao() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(clock.instant(), autenticado.expiracao()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenJWT, UsuarioAutenticado autenticado, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        @Override
+        public long expireAfterRead(String tokenJWT, UsuarioAutenticado autenticado, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package med.voll.api.infra.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.ConditionalOnManagementPort;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rotação das chaves de assinatura sem reiniciar a aplicação, pela porta de gerenciamento e só para administradores:
+ * {@code POST /actuator/chavesjwt/{kid}} com {@code {"senha": "..."}} passa a assinar com a nova chave e
+ * {@code DELETE /actuator/chavesjwt/{kid}} deixa de aceitar os tokens da chave antiga. As chaves são gravadas no
+ * {@link RegistroDeChavesJWT}; as outras instâncias as recebem pela {@link SincronizacaoDeChavesJWT}.
+ * Com o actuator na porta da API o endpoint não é criado.
+ */
+@Component
+@Endpoint(id = "chavesjwt")
+@ConditionalOnManagementPort(ManagementPortType.DIFFERENT)
+public class ChavesJWTEndpoint {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RegistroDeChavesJWT registro;
+
+    @Autowired
+    private SincronizacaoDeChavesJWT sincronizacao;
+
+    @ReadOperation
+    public DadosChavesJWT chaves() {
+        return new DadosChavesJWT(tokenService.chaveAtual(), tokenService.chavesAceitas());
+    }
+
+    @WriteOperation
+    public DadosChavesJWT rotacionar(@Selector String kid, String senha) {
+        registro.gravar(kid, senha);
+        sincronizacao.sincronizar();
+        return chaves();
+    }
+
+    @DeleteOperation
+    public DadosChavesJWT remover(@Selector String kid) {
+        if (kid.equals(tokenService.chaveAtual())) {
+            throw new IllegalArgumentException("A chave atual não pode ser removida");
+        }
+        registro.remover(kid);
+        sincronizacao.sincronizar();
+        return chaves();
+    }
+}
@@ -0,0 +1,6 @@
+package med.voll.api.infra.security;
+
+import java.util.Set;
+
+public record DadosChavesJWT(String atual, Set<String> aceitas) {
+}
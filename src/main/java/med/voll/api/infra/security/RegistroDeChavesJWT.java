@@ -0,0 +1,57 @@
+package med.voll.api.infra.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Chaves de assinatura gravadas na tabela chaves_jwt, compartilhadas entre as instâncias da API.
+ */
+@Repository
+public class RegistroDeChavesJWT {
+
+    private static final String GRAVAR = """
+            insert into chaves_jwt (kid, senha) values (?, ?)
+            """;
+
+    // a chave inicial não está na tabela: a remoção dela é gravada como uma linha sem senha
+    private static final String REMOVER = """
+            insert into chaves_jwt (kid, removida_em) values (?, now())
+                on conflict (kid) do update set removida_em = now()
+            """;
+
+    private static final String BUSCAR_TODAS = """
+            select kid, senha, removida_em is not null as removida from chaves_jwt order by criada_em, kid
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void gravar(String kid, String senha) {
+        try {
+            jdbcTemplate.update(GRAVAR, kid, senha);
+        } catch (DuplicateKeyException exception) {
+            throw new IllegalArgumentException("Chave já cadastrada: " + kid);
+        }
+    }
+
+    public void remover(String kid) {
+        jdbcTemplate.update(REMOVER, kid);
+    }
+
+    /**
+     * Em ordem de criação: a última chave não removida é a que assina os novos tokens.
+     */
+    public List<ChaveGravada> buscarTodas() {
+        return jdbcTemplate.query(BUSCAR_TODAS, (rs, linha) -> new ChaveGravada(
+                rs.getString("kid"),
+                rs.getString("senha"),
+                rs.getBoolean("removida")));
+    }
+
+    public record ChaveGravada(String kid, String senha, boolean removida) {
+    }
+}
@@ -1,6 +1,7 @@
 package med.voll.api.infra.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,6 +13,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -20,6 +24,9 @@ public class SecurityConfigurations {
     @Autowired
     private SecurityFilter securityFilter;
 
+    @Value("${management.server.port:}")
+    private String portaDeGerenciamento;
+
     @Bean
     public SecurityFilterChain habilitarStateless(HttpSecurity http) throws Exception {
         return http.csrf(csrf -> csrf.disable())
@@ -28,12 +35,25 @@ public class SecurityConfigurations {
                     req.requestMatchers("/login").permitAll();
                     req.requestMatchers("/swagger-ui.html", "/swagger-ui/**").permitAll();
                     req.requestMatchers("/v3/api-docs/**").permitAll();
+                    req.requestMatchers("/actuator/health").permitAll();
+                    req.requestMatchers(naPortaDeGerenciamento("/actuator/prometheus")).permitAll();
+                    req.requestMatchers("/actuator/chavesjwt", "/actuator/chavesjwt/**").hasRole("ADMIN");
                     req.anyRequest().authenticated();
                 })
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 
+    /**
+     * Só casa com requisições recebidas pela porta de gerenciamento, que ouve em localhost; na porta da API o caminho
+     * continua exigindo autenticação.
+     */
+    private RequestMatcher naPortaDeGerenciamento(String caminho) {
+        return new AndRequestMatcher(
+                new AntPathRequestMatcher(caminho),
+                request -> String.valueOf(request.getLocalPort()).equals(portaDeGerenciamento));
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
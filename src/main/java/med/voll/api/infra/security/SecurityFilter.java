@@ -1,5 +1,7 @@
 package med.voll.api.infra.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +10,7 @@ import med.voll.api.domain.usuario.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -22,6 +25,12 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private UsuarioRepository repository;
 
+    @Autowired
+    private CacheDeAutenticacao cacheDeAutenticacao;
+
+    @Autowired
+    private MeterRegistry registry;
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -30,19 +39,40 @@ public class SecurityFilter extends OncePerRequestFilter {
 
         var tokenJWT = recuperarToken(request);
         if (tokenJWT != null) {
-            var subject = tokenService.getSubject(tokenJWT);
-            var usuario = repository.findByLogin(subject);
-            var authentication = new UsernamePasswordAuthenticationToken(
-                    usuario,
-                    null,
-                    usuario.getAuthorities()
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            var usuario = autenticarMedindo(tokenJWT);
+            // token válido de um login excluído: a requisição segue sem autenticação
+            if (usuario != null) {
+                var authentication = new UsernamePasswordAuthenticationToken(
+                        usuario,
+                        null,
+                        usuario.getAuthorities()
+                );
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    // o tempo da requisição inteira já está em http.server.requests; aqui entra só a autenticação pelo token
+    private UserDetails autenticarMedindo(String tokenJWT) {
+        var sample = Timer.start(registry);
+        var resultado = "invalido";
+        try {
+            var usuario = cacheDeAutenticacao.buscar(tokenJWT, this::autenticar, tokenService::aceitaChave);
+            resultado = usuario != null ? "autenticado" : "usuario_inexistente";
+            return usuario;
+        } finally {
+            sample.stop(registry.timer("api.autenticacao", "resultado", resultado));
+        }
+    }
+
+    private CacheDeAutenticacao.UsuarioAutenticado autenticar(String tokenJWT) {
+        var token = tokenService.verificar(tokenJWT);
+        var usuario = repository.findByLogin(token.getSubject());
+        return usuario != null ? new CacheDeAutenticacao.UsuarioAutenticado(usuario, token.getExpiresAtAsInstant(), token.getKeyId()) : null;
+    }
+
     private String recuperarToken(HttpServletRequest request) {
         var authorizationHeader = request.getHeader("Authorization");
         if (authorizationHeader != null) {
@@ -0,0 +1,48 @@
+package med.voll.api.infra.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Recarrega periodicamente as chaves do {@link RegistroDeChavesJWT} no {@link TokenService}: uma chave rotacionada
+ * em uma instância passa a ser aceita nas demais, e sobrevive a reinícios, em até um intervalo.
+ */
+@Component
+public class SincronizacaoDeChavesJWT implements DisposableBean {
+
+    @Autowired
+    private RegistroDeChavesJWT registro;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${api.security.token.sincronizacao:30s}")
+    private Duration intervalo;
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    // depois de a aplicação subir, quando as migrations já criaram a tabela
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        sincronizar();
+        scheduler.setThreadNamePrefix("chaves-jwt-");
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay(this::sincronizar, intervalo);
+    }
+
+    public void sincronizar() {
+        tokenService.sincronizar(registro.buscarTodas());
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
@@ -1,51 +1,148 @@
 package med.voll.api.infra.security;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.annotation.Timed;
 import med.voll.api.domain.usuario.Usuario;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TokenService {
 
-    @Value("${api.security.token.senha}")
-    private String senha;
+    private static final String ISSUER = "API Voll.med";
+
+    private static final Duration VALIDADE = Duration.ofHours(2);
+
+    private final Map<String, JWTVerifier> verificadores = new ConcurrentHashMap<>();
+
+    private final String kidInicial;
+
+    private final Algorithm algoritmoInicial;
+
+    private final Clock clock;
+
+    private volatile Chave chaveAtual;
+
+    public TokenService(@Value("${api.security.token.senha}") String senha,
+                        @Value("${api.security.token.kid:1}") String kid,
+                        Clock clock) {
+        this.kidInicial = kid;
+        this.algoritmoInicial = Algorithm.HMAC256(senha);
+        this.clock = clock;
+        rotacionarChave(kid, senha);
+    }
 
     public String gerarToken(Usuario usuario) {
+        var chave = chaveAtual;
         try {
-            var algoritmo = Algorithm.HMAC256(senha);
             return JWT.create()
-                    .withIssuer("API Voll.med")
+                    .withIssuer(ISSUER)
+                    .withKeyId(chave.kid())
                     .withSubject(usuario.getUsername())
                     .withClaim("id", usuario.getId())
                     .withExpiresAt(dataExpiracao())
-                    .sign(algoritmo);
+                    .sign(chave.algoritmo());
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Erro ao gerar token JWT", exception);
         }
     }
 
     public String getSubject(String tokenJWT) {
+        return verificar(tokenJWT).getSubject();
+    }
+
+    @Timed("api.token.verificacoes")
+    public DecodedJWT verificar(String tokenJWT) {
         try {
-            var algoritmo = Algorithm.HMAC256(senha);
-            return JWT.require(algoritmo)
-                    .withIssuer("API Voll.med")
-                    .build()
-                    .verify(tokenJWT)
-                    .getSubject();
+            var token = JWT.decode(tokenJWT);
+            var kid = token.getKeyId() != null ? token.getKeyId() : kidInicial;
+            var verificador = verificadores.get(kid);
+            if (verificador == null) {
+                throw new JWTVerificationException("Chave desconhecida: " + kid);
+            }
+            return verificador.verify(token);
         } catch (JWTVerificationException exception) {
             throw new RuntimeException("Token JWT inválido ou expirado!", exception);
         }
     }
 
+    /**
+     * Passa a assinar com a nova chave, mantendo as anteriores aceitas na verificação até serem removidas.
+     */
+    public void rotacionarChave(String kid, String senha) {
+        var algoritmo = Algorithm.HMAC256(senha);
+        verificadores.put(kid, verificador(algoritmo));
+        chaveAtual = new Chave(kid, algoritmo);
+    }
+
+    /**
+     * Substitui as chaves em memória pelas gravadas no {@link RegistroDeChavesJWT}, aplicadas sobre a chave inicial
+     * na ordem de criação. As novas chaves entram antes de as removidas saírem, para nenhum token válido ser recusado
+     * durante a troca.
+     */
+    public void sincronizar(List<RegistroDeChavesJWT.ChaveGravada> chaves) {
+        var novos = new HashMap<String, JWTVerifier>();
+        novos.put(kidInicial, verificador(algoritmoInicial));
+        var atual = new Chave(kidInicial, algoritmoInicial);
+        for (var chave : chaves) {
+            if (chave.removida()) {
+                novos.remove(chave.kid());
+                continue;
+            }
+            var algoritmo = Algorithm.HMAC256(chave.senha());
+            novos.put(chave.kid(), verificador(algoritmo));
+            atual = new Chave(chave.kid(), algoritmo);
+        }
+        verificadores.putAll(novos);
+        chaveAtual = atual;
+        verificadores.keySet().retainAll(novos.keySet());
+    }
+
+    public void removerChave(String kid) {
+        if (kid.equals(chaveAtual.kid())) {
+            throw new IllegalArgumentException("A chave atual não pode ser removida");
+        }
+        verificadores.remove(kid);
+    }
+
+    /**
+     * Consultado a cada requisição autenticada pelo cache, para que tokens de uma chave removida deixem de valer na hora.
+     */
+    public boolean aceitaChave(String kid) {
+        return verificadores.containsKey(kid != null ? kid : kidInicial);
+    }
+
+    public String chaveAtual() {
+        return chaveAtual.kid();
+    }
+
+    public Set<String> chavesAceitas() {
+        return Set.copyOf(verificadores.keySet());
+    }
+
+    private JWTVerifier verificador(Algorithm algoritmo) {
+        var verificacao = (JWTVerifier.BaseVerification) JWT.require(algoritmo).withIssuer(ISSUER);
+        return verificacao.build(clock);
+    }
+
     private Instant dataExpiracao() {
-        return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
+        return clock.instant().plus(VALIDADE);
+    }
+
+    private record Chave(String kid, Algorithm algoritmo) {
     }
 }
@@ -0,0 +1,39 @@
+package med.voll.api.infra.sequencia;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reserva ids nas sequências usadas pelas entidades. Cada {@code nextval} entrega um bloco de
+ * {@value #TAMANHO_DO_BLOCO} ids começando no valor devolvido, a mesma leitura que o Hibernate faz com o
+ * otimizador pooled-lo, então inserts por JDBC e pelo JPA nunca disputam os mesmos ids.
+ */
+@Component
+public class ReservaDeIds {
+
+    public static final int TAMANHO_DO_BLOCO = 50;
+
+    private static final String RESERVAR_BLOCOS = """
+            select nextval(?::regclass) from generate_series(1, ?)
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public List<Long> reservar(String sequencia, int quantidade) {
+        var blocos = (quantidade + TAMANHO_DO_BLOCO - 1) / TAMANHO_DO_BLOCO;
+        var inicios = jdbcTemplate.queryForList(RESERVAR_BLOCOS, Long.class, sequencia, blocos);
+
+        var ids = new ArrayList<Long>(quantidade);
+        for (var inicio : inicios) {
+            for (long id = inicio; id < inicio + TAMANHO_DO_BLOCO && ids.size() < quantidade; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
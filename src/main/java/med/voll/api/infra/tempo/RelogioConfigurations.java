@@ -0,0 +1,25 @@
+package med.voll.api.infra.tempo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class RelogioConfigurations {
+
+    /**
+     * Relógio usado por todas as regras que dependem do horário atual. Com {@code api.relogio.precisao} maior
+     * que zero, o horário é lido de um valor atualizado em segundo plano nessa frequência, o que basta para
+     * regras de antecedência medidas em minutos. Testes e benchmarks podem registrar o próprio Clock.
+     */
+    @Bean
+    @ConditionalOnMissingBean(Clock.class)
+    public Clock clock(@Value("${api.relogio.precisao:0ms}") Duration precisao) {
+        var sistema = Clock.systemDefaultZone();
+        return precisao.isZero() ? sistema : new RelogioEmCache(sistema, precisao);
+    }
+}
@@ -0,0 +1,86 @@
+package med.voll.api.infra.tempo;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock de baixa precisão: uma thread atualiza o instante a cada {@code precisao} e as leituras
+ * são apenas o acesso a um campo volatile.
+ */
+public class RelogioEmCache extends Clock implements AutoCloseable {
+
+    private final Clock origem;
+
+    private final ScheduledExecutorService atualizador;
+
+    private volatile Instant agora;
+
+    public RelogioEmCache(Clock origem, Duration precisao) {
+        this.origem = origem;
+        this.agora = origem.instant();
+        this.atualizador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            var thread = new Thread(tarefa, "relogio-em-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        atualizador.scheduleAtFixedRate(() -> agora = origem.instant(),
+                precisao.toNanos(), precisao.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public Instant instant() {
+        return agora;
+    }
+
+    @Override
+    public long millis() {
+        return agora.toEpochMilli();
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return origem.getZone();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zona) {
+        return zona.equals(getZone()) ? this : new NoFuso(this, zona);
+    }
+
+    @Override
+    public void close() {
+        atualizador.shutdownNow();
+    }
+
+    private static class NoFuso extends Clock {
+
+        private final RelogioEmCache relogio;
+
+        private final ZoneId zona;
+
+        private NoFuso(RelogioEmCache relogio, ZoneId zona) {
+            this.relogio = relogio;
+            this.zona = zona;
+        }
+
+        @Override
+        public Instant instant() {
+            return relogio.instant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zona;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            return relogio.withZone(zona);
+        }
+    }
+}
@@ -0,0 +1,6 @@
+create extension if not exists btree_gist;
+
+alter table consultas add constraint consultas_medico_horario_excl exclude using gist (
+    medico_id with =,
+    tsrange(data, data + interval '1 hour', '[]') with &&
+) where (motivo_cancelamento is null);
@@ -0,0 +1,5 @@
+drop index idx_medicos_nome;
+create index idx_medicos_nome_id on medicos(nome, id) where ativo = true;
+
+drop index idx_pacientes_nome;
+create index idx_pacientes_nome_id on pacientes(nome, id) where ativo = true;
@@ -0,0 +1,20 @@
+create table solicitacoes_agendamento(
+
+    id bigserial primary key,
+    ticket uuid not null unique,
+    medico_id bigint,
+    especialidade varchar(100),
+    paciente_id bigint not null,
+    data timestamp not null,
+    status varchar(20) not null,
+    consulta_id bigint,
+    erro varchar(255),
+    criada_em timestamp not null default now(),
+    reservada_em timestamp
+);
+
+create index idx_solicitacoes_agendamento_pendentes on solicitacoes_agendamento(id) where status = 'PENDENTE';
+
+-- agrupa pedidos repetidos do mesmo paciente para o mesmo horário enquanto o primeiro não foi processado
+create unique index idx_solicitacoes_agendamento_paciente_data on solicitacoes_agendamento(paciente_id, data)
+    where status in ('PENDENTE', 'PROCESSANDO');
@@ -0,0 +1,6 @@
+-- cada nextval reserva um bloco de 50 ids (v a v + 49): o Hibernate gera ids em memória entre as idas ao banco
+-- e consegue agrupar os inserts em lote. O incremento precisa ser igual ao allocationSize das entidades.
+alter sequence medicos_id_seq increment by 50;
+alter sequence pacientes_id_seq increment by 50;
+alter sequence consultas_id_seq increment by 50;
+alter sequence usuarios_id_seq increment by 50;
@@ -0,0 +1 @@
+alter table solicitacoes_agendamento add column codigo varchar(50);
@@ -0,0 +1,11 @@
+-- chaves de assinatura rotacionadas em tempo de execução, lidas por todas as instâncias; a chave inicial continua
+-- vindo de api.security.token.senha e só aparece aqui se for removida
+create table chaves_jwt(
+
+    kid varchar(50) primary key,
+    senha varchar(255),
+    criada_em timestamp not null default now(),
+    removida_em timestamp
+);
+
+alter table usuarios add column administrador boolean not null default false;
@@ -0,0 +1,2 @@
+-- reservas de cada solicitação: a que derruba o worker toda vez é encerrada como FALHOU depois de algumas tentativas
+alter table solicitacoes_agendamento add column tentativas integer not null default 0;
@@ -0,0 +1 @@
+create index idx_consultas_medico_id_data on consultas(medico_id, data) where motivo_cancelamento is null;
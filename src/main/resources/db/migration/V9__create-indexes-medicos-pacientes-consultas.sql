@@ -0,0 +1,7 @@
+create index idx_medicos_nome on medicos(nome) where ativo = true;
+create index idx_medicos_especialidade_ativo on medicos(especialidade, ativo);
+
+create index idx_pacientes_nome on pacientes(nome) where ativo = true;
+
+create index idx_consultas_paciente_id_data on consultas(paciente_id, data) where motivo_cancelamento is null;
+create index idx_consultas_data on consultas(data) where motivo_cancelamento is null;
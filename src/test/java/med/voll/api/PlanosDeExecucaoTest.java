@@ -0,0 +1,239 @@
+package med.voll.api;
+
+import med.voll.api.domain.consulta.ConsultaRepository;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class PlanosDeExecucaoTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private CapturaDeComandos comandos;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("""
+                insert into medicos (nome, email, crm, especialidade, telefone, logradouro, bairro, cep, uf, cidade, ativo)
+                    select 'Medico ' || i, 'medico' || i || '@voll.med', lpad(i::text, 6, '0'),
+                           (array['ORTOPEDIA', 'CARDIOLOGIA', 'GINECOLOGIA', 'DERMATOLOGIA'])[i % 4 + 1],
+                           '61999999999', 'rua', 'bairro', '99880111', 'sp', 'cidade', i % 10 <> 0
+                    from generate_series(1, 2000) i
+                """);
+        jdbcTemplate.execute("""
+                insert into pacientes (nome, email, telefone, cpf, logradouro, bairro, cep, uf, cidade, ativo)
+                    select 'Paciente ' || i, 'paciente' || i || '@email.com', '61999999999', lpad(i::text, 11, '0'),
+                           'rua', 'bairro', '99880111', 'sp', 'cidade', i % 10 <> 0
+                    from generate_series(1, 20000) i
+                """);
+        // com as sequências em blocos de 50 (V13) os ids gerados pelo default da coluna não são consecutivos
+        jdbcTemplate.update("""
+                insert into consultas (medico_id, paciente_id, data, motivo_cancelamento)
+                    select m.id, p.id,
+                           timestamp '2030-01-07 07:00' + (i / 2000) * interval '1 day' + (i % 11) * interval '1 hour',
+                           case when i % 20 = 0 then 'OUTROS' end
+                    from generate_series(1, 50000) i
+                    join (select id, row_number() over (order by id desc) - 1 as n from medicos) m on m.n = i % 2000
+                    join (select id, row_number() over (order by id desc) - 1 as n from pacientes) p on p.n = i % 20000
+                """);
+        jdbcTemplate.execute("analyze medicos, pacientes, consultas");
+    }
+
+    @Test
+    @DisplayName("Listagem de médicos ativos ordenada por nome deve usar índice parcial")
+    void findAllMedicosByAtivoTrue() {
+        var plano = plano(() -> medicoRepository.findAllByAtivoTrue(PageRequest.of(0, 10, Sort.by("nome"))));
+        assertThat(plano).doesNotContain("Seq Scan").contains("idx_medicos_nome_id");
+    }
+
+    @Test
+    @DisplayName("Listagem de pacientes ativos ordenada por nome deve usar índice parcial")
+    void findAllPacientesByAtivoTrue() {
+        var plano = plano(() -> pacienteRepository.findAllByAtivoTrue(PageRequest.of(0, 10, Sort.by("nome"))));
+        assertThat(plano).doesNotContain("Seq Scan").contains("idx_pacientes_nome_id");
+    }
+
+    @Test
+    @DisplayName("Listagem de pacientes por cursor deve buscar a partir do cursor no índice, sem ordenar")
+    void findByAtivoTrueAposNomeEId() {
+        var cursor = jdbcTemplate.queryForMap("select nome, id from pacientes where ativo = true order by nome, id offset 15000 limit 1");
+        var plano = plano(() -> pacienteRepository.findByAtivoTrueAposNomeEId(
+                (String) cursor.get("nome"), (Long) cursor.get("id"), PageRequest.ofSize(10)));
+        assertThat(plano).doesNotContain("Seq Scan").doesNotContain("Sort").contains("Index Cond").contains("idx_pacientes_nome_id");
+    }
+
+    @Test
+    @DisplayName("Consulta do paciente no dia deve usar índice de paciente e data")
+    void existsByPacienteIdAndMotivoCancelamentoAndDataBetween() {
+        var consulta = consultaAgendada();
+        var plano = plano(() -> consultaRepository.existsByPacienteIdAndMotivoCancelamentoAndDataBetween(
+                (Long) consulta.get("paciente_id"), null, data(consulta).withHour(7), data(consulta).withHour(18)));
+        assertThat(plano).doesNotContain("Seq Scan").contains("idx_consultas_paciente_id_data");
+    }
+
+    @Test
+    @DisplayName("Consulta do médico no intervalo deve usar índice de médico e data")
+    void existsByMedicoIdAndMotivoCancelamentoIsNullAndDataBetween() {
+        var consulta = consultaAgendada();
+        var plano = plano(() -> consultaRepository.existsByMedicoIdAndMotivoCancelamentoIsNullAndDataBetween(
+                (Long) consulta.get("medico_id"), data(consulta).minusHours(1), data(consulta).plusHours(1)));
+        assertThat(plano).doesNotContain("Seq Scan").contains("idx_consultas_medico_id_data");
+    }
+
+    @Test
+    @DisplayName("Busca de médico livre por especialidade deve usar o índice de data nas consultas")
+    void findByEspecialidadeComDataLivre() {
+        // com quatro especialidades, um quarto dos médicos atende: percorrer a tabela de médicos é o plano certo
+        var plano = plano(() -> medicoRepository.findByEspecialidadeComDataLivre(
+                Especialidade.CARDIOLOGIA, LocalDateTime.of(2030, 1, 7, 10, 0)));
+        assertThat(plano).doesNotContain("Seq Scan on consultas").contains("idx_consultas_data");
+    }
+
+    private Map<String, Object> consultaAgendada() {
+        return jdbcTemplate.queryForMap("""
+                select medico_id, paciente_id, data from consultas
+                    where motivo_cancelamento is null
+                    order by id
+                    limit 1
+                """);
+    }
+
+    private LocalDateTime data(Map<String, Object> consulta) {
+        return ((Timestamp) consulta.get("data")).toLocalDateTime();
+    }
+
+    /**
+     * Plano do primeiro comando que o repositório enviou ao banco, com os mesmos parâmetros, do jeito que o Postgres
+     * escolheria ao executá-lo.
+     */
+    private String plano(Runnable chamada) {
+        var comando = comandos.capturar(chamada).get(0);
+        return String.join("\n", jdbcTemplate.queryForList("explain " + comando.sql(), String.class, comando.parametros().toArray()));
+    }
+
+    record ComandoSql(String sql, List<Object> parametros) {
+    }
+
+    /**
+     * Envolve o DataSource para guardar o SQL e os parâmetros de cada PreparedStatement executado.
+     */
+    @TestConfiguration
+    static class CapturaDeComandos implements BeanPostProcessor {
+
+        private final List<ComandoSql> comandos = new CopyOnWriteArrayList<>();
+
+        private volatile boolean capturando;
+
+        List<ComandoSql> capturar(Runnable chamada) {
+            comandos.clear();
+            capturando = true;
+            try {
+                chamada.run();
+            } finally {
+                capturando = false;
+            }
+            assertThat(comandos).isNotEmpty();
+            return List.copyOf(comandos);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return new DelegatingDataSource(dataSource) {
+                    @Override
+                    public Connection getConnection() throws SQLException {
+                        return capturarComandos(super.getConnection());
+                    }
+
+                    @Override
+                    public Connection getConnection(String username, String password) throws SQLException {
+                        return capturarComandos(super.getConnection(username, password));
+                    }
+                };
+            }
+            return bean;
+        }
+
+        private Connection capturarComandos(Connection conexao) {
+            return proxy(Connection.class, conexao, (metodo, argumentos) -> {
+                var resultado = metodo.invoke(conexao, argumentos);
+                if (metodo.getName().equals("prepareStatement")) {
+                    return capturarParametros((PreparedStatement) resultado, (String) argumentos[0]);
+                }
+                return resultado;
+            });
+        }
+
+        private PreparedStatement capturarParametros(PreparedStatement statement, String sql) {
+            var parametros = new TreeMap<Integer, Object>();
+            return proxy(PreparedStatement.class, statement, (metodo, argumentos) -> {
+                var nome = metodo.getName();
+                if (nome.startsWith("set") && argumentos != null && argumentos.length >= 2 && argumentos[0] instanceof Integer posicao) {
+                    parametros.put(posicao, nome.equals("setNull") ? null : argumentos[1]);
+                } else if (nome.startsWith("execute") && capturando) {
+                    comandos.add(new ComandoSql(sql, new ArrayList<>(parametros.values())));
+                }
+                return metodo.invoke(statement, argumentos);
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> tipo, T alvo, Invocacao invocacao) {
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (p, metodo, argumentos) -> {
+                try {
+                    return invocacao.invocar(metodo, argumentos);
+                } catch (InvocationTargetException exception) {
+                    throw exception.getCause();
+                }
+            });
+        }
+
+        private interface Invocacao {
+            Object invocar(Method metodo, Object[] argumentos) throws Exception;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package med.voll.api;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransacoesSomenteLeituraTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long idMedico;
+
+    @BeforeEach
+    void setUp() {
+        idMedico = medicoRepository.save(new Medico(new DadosCadastroMedico("Medico", "medico@voll.med", "61999999999",
+                "123456", Especialidade.CARDIOLOGIA, new DadosEndereco("rua xpto", "1", null, "bairro", "cidade", "sp", "99880111")))).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from medicos where id = ?", idMedico);
+    }
+
+    @Test
+    @DisplayName("Leitura em transação somente leitura não deve guardar snapshot das entidades nem fazer flush")
+    void lerCenario1() {
+        transacao(true).executeWithoutResult(status -> {
+            var medico = medicoRepository.findById(idMedico).orElseThrow();
+            var sessao = em.unwrap(SessionImplementor.class);
+
+            assertEquals(FlushMode.MANUAL, em.unwrap(Session.class).getHibernateFlushMode());
+            assertTrue(sessao.isReadOnly(medico));
+            assertNull(sessao.getPersistenceContextInternal().getEntry(medico).getLoadedState());
+        });
+    }
+
+    @Test
+    @DisplayName("Leitura em transação de escrita deve guardar o snapshot usado na verificação de alterações")
+    void lerCenario2() {
+        transacao(false).executeWithoutResult(status -> {
+            var medico = medicoRepository.findById(idMedico).orElseThrow();
+            var sessao = em.unwrap(SessionImplementor.class);
+
+            assertFalse(sessao.isReadOnly(medico));
+            assertNotNull(sessao.getPersistenceContextInternal().getEntry(medico).getLoadedState());
+        });
+    }
+
+    @Test
+    @DisplayName("Alterações em entidades lidas numa transação somente leitura não devem ser gravadas")
+    void lerCenario3() {
+        transacao(true).executeWithoutResult(status -> medicoRepository.findById(idMedico).orElseThrow().excluir());
+
+        var ativo = jdbcTemplate.queryForObject("select ativo from medicos where id = ?", Boolean.class, idMedico);
+        assertTrue(ativo);
+    }
+
+    private TransactionTemplate transacao(boolean somenteLeitura) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(somenteLeitura);
+        return transactionTemplate;
+    }
+}
@@ -1,6 +1,10 @@
 package med.voll.api.controller;
 
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ConflitoDeAgendaException;
 import med.voll.api.domain.consulta.*;
+import med.voll.api.domain.consulta.fila.DadosSolicitacaoAgendamento;
+import med.voll.api.domain.consulta.fila.StatusSolicitacao;
 import med.voll.api.domain.medico.Especialidade;
 import med.voll.api.domain.medico.Medico;
 import med.voll.api.domain.paciente.Paciente;
@@ -18,7 +22,12 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -41,6 +50,9 @@ class ConsultaControllerTest {
     @Autowired
     private JacksonTester<DadosCancelamentoConsulta> dadosCancelamentoConsultaJson;
 
+    @Autowired
+    private JacksonTester<DadosAgendamentoLote> dadosAgendamentoLoteJson;
+
     @MockBean
     private AgendaDeConsultas agendaDeConsultas;
 
@@ -76,6 +88,80 @@ class ConsultaControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.CREATED.value());
     }
 
+    @Test
+    @DisplayName("Deve devolver código 409 com o código do erro quando o horário conflita com outra consulta")
+    @WithMockUser
+    void agendarCenario3() throws Exception {
+        var data = LocalDateTime.now().plusHours(1);
+
+        Mockito.when(agendaDeConsultas.agendar(Mockito.any())).thenThrow(new ConflitoDeAgendaException(
+                CodigoDeErro.MEDICO_COM_CONSULTA_NO_INTERVALO, "Médico já possui uma consulta agendada nesse intervalo"));
+
+        var response = mvc.perform(post("/consultas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(dadosAgendamentoConsultaJson.write(
+                                new DadosAgendamentoConsulta(1L, null, 5L, data)
+                        ).getJson())
+                )
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.CONFLICT.value());
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"codigo\":\"MEDICO_COM_CONSULTA_NO_INTERVALO\",\"mensagem\":\"Médico já possui uma consulta agendada nesse intervalo\"}");
+    }
+
+    @Test
+    @DisplayName("Deve devolver código 500 quando a falha não é uma regra de negócio")
+    @WithMockUser
+    void agendarCenario4() throws Exception {
+        var data = LocalDateTime.now().plusHours(1);
+
+        Mockito.when(agendaDeConsultas.agendar(Mockito.any())).thenThrow(new IllegalStateException("falha inesperada"));
+
+        var response = mvc.perform(post("/consultas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(dadosAgendamentoConsultaJson.write(
+                                new DadosAgendamentoConsulta(1L, null, 5L, data)
+                        ).getJson())
+                )
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+
+    @Test
+    @DisplayName("Deve devolver código 400 quando lote está vazio")
+    @WithMockUser
+    void agendarLoteCenario1() throws Exception {
+        var response = mvc.perform(post("/consultas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(dadosAgendamentoLoteJson.write(new DadosAgendamentoLote(List.of())).getJson()))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @DisplayName("Deve devolver código 200 com o resultado de cada item quando lote está válido")
+    @WithMockUser
+    void agendarLoteCenario2() throws Exception {
+        var data = LocalDateTime.now().plusHours(1);
+
+        Mockito.when(agendaDeConsultas.agendarLote(Mockito.any())).thenReturn(List.of(
+                DadosResultadoAgendamento.sucesso(0, retornarConsulta(1L, 5L, data)),
+                DadosResultadoAgendamento.erro(1, new ConflitoDeAgendaException(
+                        CodigoDeErro.PACIENTE_COM_CONSULTA_NO_DIA, "Paciente já possui uma consulta agendada nesse dia"))
+        ));
+
+        var response = mvc.perform(post("/consultas/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(dadosAgendamentoLoteJson.write(new DadosAgendamentoLote(List.of(
+                                new DadosAgendamentoConsulta(1L, null, 5L, data),
+                                new DadosAgendamentoConsulta(1L, null, 5L, data.plusHours(2))
+                        ))).getJson()))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).contains("\"sucesso\":false");
+        assertThat(response.getContentAsString()).contains("\"codigo\":\"PACIENTE_COM_CONSULTA_NO_DIA\"");
+    }
+
     private Consulta retornarConsulta(Long idMedico, Long idPaciente, LocalDateTime data) {
         var medico = new Medico(idMedico, "nome teste", "email teste", null, null, null, null, false);
         var paciente = new Paciente(idPaciente, "nome teste", "email teste", null, "cpf", null, false);
@@ -117,12 +203,52 @@ class ConsultaControllerTest {
     @DisplayName("Deve devolver código 200 quando informações estão válidas")
     @WithMockUser
     void detalharCenario2() throws Exception {
-        Mockito.when(consultaRepository.getReferenceById(1L)).thenReturn(
-                retornarConsulta(1L, 5L, LocalDateTime.now().plusHours(1)));
+        Mockito.when(consultaRepository.findDetalhamentoById(1L)).thenReturn(
+                Optional.of(new DadosDetalhamentoConsulta(retornarConsulta(1L, 5L, LocalDateTime.now().plusHours(1)))));
 
         var response = mvc.perform(get("/consultas/{id}", 1L))
                 .andReturn().getResponse();
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @DisplayName("Deve devolver código 200 com o status da solicitação de agendamento")
+    @WithMockUser
+    void acompanharCenario1() throws Exception {
+        var ticket = UUID.randomUUID();
+        Mockito.when(agendaDeConsultas.buscarSolicitacao(ticket)).thenReturn(
+                Optional.of(new DadosSolicitacaoAgendamento(ticket, StatusSolicitacao.AGENDADA, 10L, null, null)));
+
+        var response = mvc.perform(get("/consultas/solicitacoes/{ticket}", ticket))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).contains("\"status\":\"AGENDADA\",\"idConsulta\":10");
+    }
+
+    @Test
+    @DisplayName("Deve devolver código 404 quando o ticket da solicitação não existe")
+    @WithMockUser
+    void acompanharCenario2() throws Exception {
+        var response = mvc.perform(get("/consultas/solicitacoes/{ticket}", UUID.randomUUID()))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    @DisplayName("Deve exportar as consultas agendadas em uma linha JSON por consulta")
+    @WithMockUser
+    void exportarCenario1() throws Exception {
+        Mockito.when(consultaRepository.exportarAgendadas()).thenReturn(Stream.of(
+                new DadosDetalhamentoConsulta(1L, 2L, 3L, LocalDateTime.of(2030, 1, 7, 10, 0)),
+                new DadosDetalhamentoConsulta(4L, 5L, 6L, LocalDateTime.of(2030, 1, 7, 11, 0))));
+
+        var response = mvc.perform(get("/consultas/exportacao"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString().split("\n")).containsExactly(
+                "{\"id\":1,\"idMedico\":2,\"idPaciente\":3,\"data\":\"2030-01-07T10:00:00\"}",
+                "{\"id\":4,\"idMedico\":5,\"idPaciente\":6,\"data\":\"2030-01-07T11:00:00\"}");
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package med.voll.api.controller;
+
+import med.voll.api.domain.consulta.CalendarioDeHorariosLivres;
+import med.voll.api.domain.consulta.DadosHorarioLivre;
+import med.voll.api.domain.consulta.DadosHorariosLivresEspecialidade;
+import med.voll.api.domain.medico.Especialidade;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EspecialidadeControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private CalendarioDeHorariosLivres calendario;
+
+    @Test
+    @DisplayName("Deve devolver código 200 com os horários livres da semana informada")
+    @WithMockUser
+    void horariosLivresCenario1() throws Exception {
+        var segunda = LocalDate.of(2030, 1, 7);
+        Mockito.when(calendario.horariosLivres(Especialidade.CARDIOLOGIA, LocalDate.of(2030, 1, 9))).thenReturn(
+                new DadosHorariosLivresEspecialidade(Especialidade.CARDIOLOGIA, segunda, List.of(
+                        new DadosHorarioLivre(segunda.atTime(7, 0), List.of(1L, 2L)))));
+
+        var response = mvc.perform(get("/especialidades/{especialidade}/horarios-livres", "CARDIOLOGIA")
+                        .param("semana", "2030-01-09"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentAsString()).contains("\"data\":\"2030-01-07T07:00:00\",\"idsMedicos\":[1,2]");
+    }
+
+    @Test
+    @DisplayName("Deve devolver código 400 quando a especialidade não existe")
+    @WithMockUser
+    void horariosLivresCenario2() throws Exception {
+        var response = mvc.perform(get("/especialidades/{especialidade}/horarios-livres", "PEDIATRIA"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+}
@@ -13,12 +13,17 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -93,12 +98,51 @@ class MedicoControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @DisplayName("Deve devolver código 200 sem contar registros quando listagem usa cursor")
+    @WithMockUser
+    void listarCenario2() throws Exception {
+        Mockito.when(medicoRepository.findByAtivoTrueAposNomeEId(Mockito.eq("Ana, Maria"), Mockito.eq(42L), Mockito.any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+        var response = mvc.perform(get("/medicos").param("after", "Ana, Maria,42"))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Mockito.verify(medicoRepository, Mockito.never()).findAllByAtivoTrue(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver código 400 quando cursor da listagem está inválido")
+    @WithMockUser
+    void listarCenario3() throws Exception {
+        var response = mvc.perform(get("/medicos").param("after", "Ana"))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @DisplayName("Deve exportar os médicos ativos em uma linha JSON por médico")
+    @WithMockUser
+    void exportarCenario1() throws Exception {
+        Mockito.when(medicoRepository.exportarAtivos()).thenReturn(Stream.of(
+                new DadosListagemMedico(1L, "Ana", "ana@voll.med", "123456", Especialidade.CARDIOLOGIA),
+                new DadosListagemMedico(2L, "Bruno", "bruno@voll.med", "654321", Especialidade.ORTOPEDIA)));
+
+        var response = mvc.perform(get("/medicos/exportacao"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        assertThat(response.getContentAsString().split("\n")).containsExactly(
+                "{\"id\":1,\"nome\":\"Ana\",\"email\":\"ana@voll.med\",\"crm\":\"123456\",\"especialidade\":\"CARDIOLOGIA\"}",
+                "{\"id\":2,\"nome\":\"Bruno\",\"email\":\"bruno@voll.med\",\"crm\":\"654321\",\"especialidade\":\"ORTOPEDIA\"}");
+    }
+
     @Test
     @DisplayName("Deve devolver código 200 quando informações estão válidas")
     @WithMockUser
     void detalharCenario1() throws Exception {
-        Mockito.when(medicoRepository.getReferenceById(1L)).thenReturn(
-                new Medico(retornarDadosCadastro()));
+        Mockito.when(medicoRepository.findDetalhamentoById(1L)).thenReturn(
+                Optional.of(new DadosDetalhamentoMedico(new Medico(retornarDadosCadastro()))));
 
         var response = mvc.perform(get("/medicos/{id}", 1L))
                 .andReturn().getResponse();
@@ -114,6 +158,28 @@ class MedicoControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    @DisplayName("Deve devolver código 503 quando não há conexão livre no pool")
+    @WithMockUser
+    void detalharCenario3() throws Exception {
+        Mockito.when(medicoRepository.findDetalhamentoById(1L)).thenThrow(
+                new CannotCreateTransactionException("Connection is not available, request timed out after 2000ms."));
+
+        var response = mvc.perform(get("/medicos/{id}", 1L))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Deve devolver código 404 na agenda de médico inativo ou inexistente")
+    @WithMockUser
+    void agendaCenario1() throws Exception {
+        var response = mvc.perform(get("/medicos/{id}/agenda", 1L))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+    }
+
     @Test
     @DisplayName("Deve devolver código 204 quando informações estão válidas")
     @WithMockUser
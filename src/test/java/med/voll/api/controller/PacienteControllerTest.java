@@ -4,6 +4,7 @@ import med.voll.api.domain.endereco.DadosEndereco;
 import med.voll.api.domain.endereco.Endereco;
 import med.voll.api.domain.paciente.DadosCadastroPaciente;
 import med.voll.api.domain.paciente.DadosDetalhamentoPaciente;
+import med.voll.api.domain.paciente.DadosListagemPaciente;
 import med.voll.api.domain.paciente.Paciente;
 import med.voll.api.domain.paciente.PacienteRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -16,11 +17,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.json.JacksonTester;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -77,6 +83,43 @@ class PacienteControllerTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
     }
 
+    @Test
+    @DisplayName("Deve devolver código 200 sem contar registros quando listagem usa cursor")
+    @WithMockUser
+    void listarCenario2() throws Exception {
+        Mockito.when(pacienteRepository.findByAtivoTrueAposNomeEId(Mockito.eq("Ana, Maria"), Mockito.eq(42L), Mockito.any()))
+                .thenReturn(new SliceImpl<>(List.of()));
+        var response = mvc.perform(get("/pacientes").param("after", "Ana, Maria,42"))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Mockito.verify(pacienteRepository, Mockito.never()).findAllByAtivoTrue(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver código 400 quando cursor da listagem está inválido")
+    @WithMockUser
+    void listarCenario3() throws Exception {
+        var response = mvc.perform(get("/pacientes").param("after", "Ana"))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @DisplayName("Deve exportar os pacientes ativos em uma linha JSON por paciente")
+    @WithMockUser
+    void exportarCenario1() throws Exception {
+        Mockito.when(pacienteRepository.exportarAtivos()).thenReturn(Stream.of(
+                new DadosListagemPaciente(1L, "Ana", "ana@email.com", "00011122233")));
+
+        var response = mvc.perform(get("/pacientes/exportacao"))
+                .andReturn().getResponse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.getContentType()).startsWith("application/x-ndjson");
+        assertThat(response.getContentAsString())
+                .isEqualTo("{\"id\":1,\"nome\":\"Ana\",\"email\":\"ana@email.com\",\"cpf\":\"00011122233\"}\n");
+    }
+
     @Test
     @DisplayName("Deve devolver código 200 quando informações estão válidas")
     @WithMockUser
@@ -98,8 +141,8 @@ class PacienteControllerTest {
     @DisplayName("Deve devolver código 200 quando informações estão válidas")
     @WithMockUser
     void detalharCenario1() throws Exception {
-        Mockito.when(pacienteRepository.getReferenceById(1L)).thenReturn(
-                new Paciente(retornarDadosCadastro()));
+        Mockito.when(pacienteRepository.findDetalhamentoById(1L)).thenReturn(
+                Optional.of(new DadosDetalhamentoPaciente(new Paciente(retornarDadosCadastro()))));
 
         var response = mvc.perform(get("/pacientes/{id}", 1L))
                 .andReturn().getResponse();
@@ -0,0 +1,129 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "api.agenda.bloqueio.modo=postgres")
+@ActiveProfiles("test")
+class AgendaDeConsultasBloqueioPostgresTest {
+
+    private static final int MEDICOS = 8;
+
+    private static final int ITENS_POR_LOTE = 5;
+
+    private static final int RODADAS = 5;
+
+    @Autowired
+    private AgendaDeConsultas agenda;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from consultas");
+        jdbcTemplate.update("delete from medicos");
+        jdbcTemplate.update("delete from pacientes");
+    }
+
+    @Test
+    @DisplayName("Dois lotes simultâneos com médicos escolhidos pela especialidade não devem travar um ao outro")
+    void agendarLoteCenario1() throws Exception {
+        // given
+        for (int i = 0; i < MEDICOS; i++) {
+            medicoRepository.save(new Medico(new DadosCadastroMedico("Medico " + i, "medico" + i + "@voll.med",
+                    "61999999999", String.format("%06d", i), Especialidade.CARDIOLOGIA, dadosEndereco())));
+        }
+        var pacientesDoPrimeiroLote = cadastrarPacientes(0);
+        var pacientesDoSegundoLote = cadastrarPacientes(ITENS_POR_LOTE);
+        var proximaSegunda = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            var dia = proximaSegunda.plusDays(rodada);
+
+            // when
+            var largada = new CyclicBarrier(2);
+            var primeiroLote = CompletableFuture.supplyAsync(() -> agendarLote(largada, pacientesDoPrimeiroLote, dia.atTime(7, 0)));
+            var segundoLote = CompletableFuture.supplyAsync(() -> agendarLote(largada, pacientesDoSegundoLote, dia.atTime(7, 0)));
+            var resultados = new ArrayList<DadosResultadoAgendamento>();
+            resultados.addAll(primeiroLote.get(30, TimeUnit.SECONDS));
+            resultados.addAll(segundoLote.get(30, TimeUnit.SECONDS));
+
+            // then
+            var esperados = Set.of(CodigoDeErro.AGENDA_OCUPADA, CodigoDeErro.SEM_MEDICO_DISPONIVEL);
+            assertTrue(resultados.stream().allMatch(r -> r.sucesso() || esperados.contains(r.codigo())), resultados::toString);
+            var sucessos = resultados.stream().filter(DadosResultadoAgendamento::sucesso).count();
+            assertEquals(sucessos, jdbcTemplate.queryForObject(
+                    "select count(*) from consultas where data::date = ?", Long.class, dia));
+        }
+    }
+
+    private List<DadosResultadoAgendamento> agendarLote(CyclicBarrier largada, List<Paciente> pacientes, LocalDateTime primeiroHorario) {
+        // horários com duas horas de intervalo: o mesmo médico pode ser sorteado para mais de um item do lote
+        var lote = new ArrayList<DadosAgendamentoConsulta>();
+        for (int i = 0; i < pacientes.size(); i++) {
+            lote.add(new DadosAgendamentoConsulta(null, Especialidade.CARDIOLOGIA, pacientes.get(i).getId(), primeiroHorario.plusHours(2L * i)));
+        }
+
+        try {
+            largada.await(5, TimeUnit.SECONDS);
+        } catch (Exception exception) {
+            throw new IllegalStateException(exception);
+        }
+        return agenda.agendarLote(lote);
+    }
+
+    private List<Paciente> cadastrarPacientes(int primeiro) {
+        var pacientes = new ArrayList<Paciente>();
+        for (int i = primeiro; i < primeiro + ITENS_POR_LOTE; i++) {
+            pacientes.add(pacienteRepository.save(new Paciente(new DadosCadastroPaciente("Paciente " + i,
+                    "paciente" + i + "@email.com", "61999999999", String.format("%011d", i), dadosEndereco()))));
+        }
+        return pacientes;
+    }
+
+    private DadosEndereco dadosEndereco() {
+        return new DadosEndereco(
+                "rua xpto",
+                "1",
+                null,
+                "bairro",
+                "cidade xpto",
+                "sp",
+                "99880111"
+        );
+    }
+}
@@ -0,0 +1,116 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AgendaDeConsultasConcorrenciaTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private AgendaDeConsultas agenda;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from consultas");
+        jdbcTemplate.update("delete from medicos");
+        jdbcTemplate.update("delete from pacientes");
+    }
+
+    @Test
+    @DisplayName("Deve agendar apenas uma consulta quando várias requisições disputam o mesmo horário do médico")
+    void agendarCenario1() throws Exception {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = medicoRepository.save(new Medico(new DadosCadastroMedico("Medico", "medico@voll.med",
+                "61999999999", "123456", Especialidade.CARDIOLOGIA, dadosEndereco())));
+        var pacientes = new ArrayList<Paciente>();
+        for (int i = 0; i < THREADS; i++) {
+            pacientes.add(pacienteRepository.save(new Paciente(new DadosCadastroPaciente("Paciente " + i,
+                    "paciente" + i + "@email.com", "61999999999", String.format("%011d", i), dadosEndereco()))));
+        }
+
+        // when
+        var largada = new CountDownLatch(1);
+        var sucessos = new AtomicInteger();
+        var erros = new ConcurrentLinkedQueue<String>();
+        var executor = Executors.newFixedThreadPool(THREADS);
+        for (var paciente : pacientes) {
+            executor.submit(() -> {
+                try {
+                    largada.await();
+                    transactionTemplate.executeWithoutResult(status -> agenda.agendar(
+                            new DadosAgendamentoConsulta(medico.getId(), null, paciente.getId(), proximaSegundaAs10)));
+                    sucessos.incrementAndGet();
+                } catch (RuntimeException exception) {
+                    erros.add(exception.getMessage());
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(1, sucessos.get());
+        assertEquals(THREADS - 1, erros.size());
+        assertTrue(erros.stream().allMatch("Médico já possui uma consulta agendada nesse intervalo"::equals), erros::toString);
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from consultas", Integer.class));
+    }
+
+    private DadosEndereco dadosEndereco() {
+        return new DadosEndereco(
+                "rua xpto",
+                "1",
+                null,
+                "bairro",
+                "cidade xpto",
+                "sp",
+                "99880111"
+        );
+    }
+}
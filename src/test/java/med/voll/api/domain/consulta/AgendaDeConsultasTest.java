@@ -0,0 +1,168 @@
+package med.voll.api.domain.consulta;
+
+import jakarta.persistence.EntityManager;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.consulta.validacoes.agendamentos.ValidadorMedicoComOutraConsultaNoMesmoHorario;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class AgendaDeConsultasTest {
+
+    @Autowired
+    private AgendaDeConsultas agenda;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @SpyBean
+    private ValidadorMedicoComOutraConsultaNoMesmoHorario validadorMedicoComOutraConsulta;
+
+    @Test
+    @DisplayName("Deve agendar itens válidos do lote e informar o erro dos itens em conflito")
+    void agendarLoteCenario1() {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
+        var outroMedico = cadastrarMedico("Outro Medico", "outro.medico@voll.med", "654321", Especialidade.CARDIOLOGIA);
+        var paciente = cadastrarPaciente("Paciente", "paciente@email.com", "00011122233");
+        var outroPaciente = cadastrarPaciente("Outro Paciente", "outro.paciente@email.com", "33322211100");
+        cadastrarConsulta(outroMedico, outroPaciente, proximaSegundaAs10.plusDays(1));
+
+        // when
+        var resultados = agenda.agendarLote(List.of(
+                dadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaSegundaAs10),
+                dadosAgendamentoConsulta(outroMedico.getId(), paciente.getId(), proximaSegundaAs10.plusHours(4)),
+                dadosAgendamentoConsulta(medico.getId(), outroPaciente.getId(), proximaSegundaAs10.plusMinutes(30)),
+                dadosAgendamentoConsulta(medico.getId(), outroPaciente.getId(), proximaSegundaAs10.plusDays(1).plusHours(2)),
+                dadosAgendamentoConsulta(medico.getId(), 0L, proximaSegundaAs10.plusDays(2))
+        ));
+
+        // then
+        assertEquals(5, resultados.size());
+        assertTrue(resultados.get(0).sucesso());
+        assertEquals("Paciente já possui uma consulta agendada nesse dia", resultados.get(1).erro());
+        assertEquals("Médico já possui uma consulta agendada nesse intervalo", resultados.get(2).erro());
+        assertEquals("Paciente já possui uma consulta agendada nesse dia", resultados.get(3).erro());
+        assertEquals("Paciente/médico está inativo ou não foi encontrado", resultados.get(4).erro());
+
+        var consulta = consultaRepository.findById(resultados.get(0).consulta().id()).orElseThrow();
+        assertEquals(medico.getId(), consulta.getMedico().getId());
+        assertEquals(proximaSegundaAs10, consulta.getData());
+    }
+
+    @Test
+    @DisplayName("Deve agendar os demais itens do lote quando a gravação de um deles viola o horário do médico")
+    void agendarLoteCenario2() {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
+        var paciente = cadastrarPaciente("Paciente", "paciente@email.com", "00011122233");
+        var outroPaciente = cadastrarPaciente("Outro Paciente", "outro.paciente@email.com", "33322211100");
+        var terceiroPaciente = cadastrarPaciente("Terceiro Paciente", "terceiro.paciente@email.com", "44455566677");
+        cadastrarConsulta(medico, terceiroPaciente, proximaSegundaAs10.plusDays(1));
+        em.flush();
+        // a validação não enxerga a consulta, como quando outra transação a grava depois dela
+        Mockito.doReturn(Map.of()).when(validadorMedicoComOutraConsulta).validarTodos(Mockito.any());
+
+        // when
+        var resultados = agenda.agendarLote(List.of(
+                dadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaSegundaAs10),
+                dadosAgendamentoConsulta(medico.getId(), outroPaciente.getId(), proximaSegundaAs10.plusDays(1).plusMinutes(30))
+        ));
+
+        // then
+        assertTrue(resultados.get(0).sucesso());
+        assertFalse(resultados.get(1).sucesso());
+        assertEquals(CodigoDeErro.MEDICO_COM_CONSULTA_NO_INTERVALO, resultados.get(1).codigo());
+        assertTrue(consultaRepository.existsById(resultados.get(0).consulta().id()));
+    }
+
+    private void cadastrarConsulta(Medico medico, Paciente paciente, LocalDateTime data) {
+        em.persist(new Consulta(null, medico, paciente, data, null));
+    }
+
+    private Medico cadastrarMedico(String nome, String email, String crm, Especialidade especialidade) {
+        var medico = new Medico(dadosMedico(nome, email, crm, especialidade));
+        em.persist(medico);
+        return medico;
+    }
+
+    private Paciente cadastrarPaciente(String nome, String email, String cpf) {
+        var paciente = new Paciente(dadosPaciente(nome, email, cpf));
+        em.persist(paciente);
+        return paciente;
+    }
+
+    private DadosCadastroMedico dadosMedico(String nome, String email, String crm, Especialidade especialidade) {
+        return new DadosCadastroMedico(
+                nome,
+                email,
+                "61999999999",
+                crm,
+                especialidade,
+                dadosEndereco()
+        );
+    }
+
+    private DadosCadastroPaciente dadosPaciente(String nome, String email, String cpf) {
+        return new DadosCadastroPaciente(
+                nome,
+                email,
+                "61999999999",
+                cpf,
+                dadosEndereco()
+        );
+    }
+
+    private DadosEndereco dadosEndereco() {
+        return new DadosEndereco(
+                "rua xpto",
+                "1",
+                null,
+                "bairro",
+                "cidade xpto",
+                "sp",
+                "99880111"
+        );
+    }
+
+    private DadosAgendamentoConsulta dadosAgendamentoConsulta(Long idMedico, Long idPaciente, LocalDateTime data) {
+        return new DadosAgendamentoConsulta(
+                idMedico,
+                null,
+                idPaciente,
+                data
+        );
+    }
+}
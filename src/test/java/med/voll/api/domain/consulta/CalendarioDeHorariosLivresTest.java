@@ -0,0 +1,152 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CalendarioDeHorariosLivresTest {
+
+    private static final LocalDate SEGUNDA = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+    @Autowired
+    private CalendarioDeHorariosLivres calendario;
+
+    @Autowired
+    private AgendaDeConsultas agenda;
+
+    @Autowired
+    private ConsultaRepository consultaRepository;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from consultas");
+        jdbcTemplate.update("delete from medicos");
+        jdbcTemplate.update("delete from pacientes");
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+    }
+
+    @Test
+    @DisplayName("Deve devolver os horários de segunda a sábado, das 7h às 17h, sem os que conflitam com consultas do médico")
+    void agendaDoMedicoCenario1() {
+        // given
+        var medico = cadastrarMedico("medico@voll.med", "123456");
+        var paciente = cadastrarPaciente("00011122233");
+        var tercaAs10 = SEGUNDA.plusDays(1).atTime(10, 0);
+        consultaRepository.save(new Consulta(null, medico, paciente, tercaAs10, null));
+
+        // when
+        var agendaDoMedico = calendario.agendaDoMedico(medico.getId(), SEGUNDA.plusDays(3));
+
+        // then
+        var horarios = agendaDoMedico.horariosLivres();
+        assertEquals(SEGUNDA, agendaDoMedico.semana());
+        assertEquals(6 * 11 - 3, horarios.size());
+        assertEquals(SEGUNDA.atTime(7, 0), horarios.get(0));
+        assertEquals(SEGUNDA.plusDays(5).atTime(17, 0), horarios.get(horarios.size() - 1));
+        assertTrue(horarios.contains(tercaAs10.minusHours(2)));
+        assertFalse(horarios.contains(tercaAs10.minusHours(1)));
+        assertFalse(horarios.contains(tercaAs10));
+        assertFalse(horarios.contains(tercaAs10.plusHours(1)));
+        assertTrue(horarios.contains(tercaAs10.plusHours(2)));
+    }
+
+    @Test
+    @DisplayName("Deve listar em cada horário apenas os médicos da especialidade que estão livres")
+    void horariosLivresCenario1() {
+        // given
+        var medico = cadastrarMedico("medico@voll.med", "123456");
+        var outroMedico = cadastrarMedico("outro.medico@voll.med", "654321");
+        var paciente = cadastrarPaciente("00011122233");
+        var segundaAs7 = SEGUNDA.atTime(7, 0);
+        consultaRepository.save(new Consulta(null, medico, paciente, segundaAs7, null));
+
+        // when
+        var horariosLivres = calendario.horariosLivres(Especialidade.CARDIOLOGIA, SEGUNDA);
+
+        // then
+        var primeiro = horariosLivres.horariosLivres().get(0);
+        assertEquals(segundaAs7, primeiro.data());
+        assertEquals(List.of(outroMedico.getId()), primeiro.idsMedicos());
+        assertEquals(6 * 11, horariosLivres.horariosLivres().size());
+        assertTrue(calendario.horariosLivres(Especialidade.ORTOPEDIA, SEGUNDA).horariosLivres().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular a agenda em cache depois que um agendamento for confirmado")
+    void agendaDoMedicoCenario2() {
+        // given
+        var medico = cadastrarMedico("medico@voll.med", "123456");
+        var paciente = cadastrarPaciente("00011122233");
+        var quartaAs15 = SEGUNDA.plusDays(2).atTime(15, 0);
+        assertTrue(calendario.agendaDoMedico(medico.getId(), SEGUNDA).horariosLivres().contains(quartaAs15));
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> agenda.agendar(
+                new DadosAgendamentoConsulta(medico.getId(), null, paciente.getId(), quartaAs15)));
+
+        // then
+        assertFalse(calendario.agendaDoMedico(medico.getId(), SEGUNDA).horariosLivres().contains(quartaAs15));
+        assertFalse(calendario.horariosLivres(Especialidade.CARDIOLOGIA, SEGUNDA).horariosLivres().stream()
+                .anyMatch(horario -> horario.data().equals(quartaAs15)));
+    }
+
+    private Medico cadastrarMedico(String email, String crm) {
+        return medicoRepository.save(new Medico(new DadosCadastroMedico("Medico", email,
+                "61999999999", crm, Especialidade.CARDIOLOGIA, dadosEndereco())));
+    }
+
+    private Paciente cadastrarPaciente(String cpf) {
+        return pacienteRepository.save(new Paciente(new DadosCadastroPaciente("Paciente", "paciente@email.com",
+                "61999999999", cpf, dadosEndereco())));
+    }
+
+    private DadosEndereco dadosEndereco() {
+        return new DadosEndereco(
+                "rua xpto",
+                "1",
+                null,
+                "bairro",
+                "cidade xpto",
+                "sp",
+                "99880111"
+        );
+    }
+}
@@ -0,0 +1,159 @@
+package med.voll.api.domain.consulta;
+
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+class IndiceDeHorariosLivresTest {
+
+    private MedicoRepository medicoRepository;
+
+    private ConsultaRepository consultaRepository;
+
+    private IndiceDeHorariosLivres indice;
+
+    private LocalDateTime proximaSegundaAs10;
+
+    @BeforeEach
+    void setUp() {
+        medicoRepository = Mockito.mock(MedicoRepository.class);
+        consultaRepository = Mockito.mock(ConsultaRepository.class);
+        indice = new IndiceDeHorariosLivres(medicoRepository, consultaRepository, Clock.systemDefaultZone());
+        proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+    }
+
+    @Test
+    @DisplayName("Deve devolver médico livre confirmado no banco sem consultar o horário novamente")
+    void escolherMedicoLivreCenario1() {
+        // given
+        Mockito.when(medicoRepository.findIdsAtivosByEspecialidade(Especialidade.CARDIOLOGIA)).thenReturn(List.of(1L, 2L));
+        Mockito.when(consultaRepository.findIdsMedicosOcupadosByEspecialidadeAndData(Especialidade.CARDIOLOGIA, proximaSegundaAs10))
+                .thenReturn(List.of(1L));
+        Mockito.when(medicoRepository.findAtivoComDataLivreById(2L, Especialidade.CARDIOLOGIA, proximaSegundaAs10))
+                .thenReturn(Optional.of(medico(2L)));
+
+        // when
+        var primeiro = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+        var segundo = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // then
+        assertEquals(2L, primeiro.orElseThrow().getId());
+        assertEquals(2L, segundo.orElseThrow().getId());
+        Mockito.verify(medicoRepository, Mockito.times(1)).findIdsAtivosByEspecialidade(Especialidade.CARDIOLOGIA);
+    }
+
+    @Test
+    @DisplayName("Deve descartar médico que não é confirmado no banco e tentar o próximo")
+    void escolherMedicoLivreCenario2() {
+        // given
+        Mockito.when(medicoRepository.findIdsAtivosByEspecialidade(Especialidade.CARDIOLOGIA)).thenReturn(List.of(1L, 2L));
+        Mockito.when(medicoRepository.findAtivoComDataLivreById(eq(1L), any(), any())).thenReturn(Optional.empty());
+        Mockito.when(medicoRepository.findAtivoComDataLivreById(eq(2L), any(), any())).thenReturn(Optional.of(medico(2L)));
+
+        // when
+        var medicoLivre = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // then
+        assertEquals(2L, medicoLivre.orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Deve devolver Optional.empty quando todos os médicos foram ocupados e voltar a devolver após cancelamento")
+    void escolherMedicoLivreCenario3() {
+        // given
+        Mockito.when(medicoRepository.findIdsAtivosByEspecialidade(Especialidade.CARDIOLOGIA)).thenReturn(List.of(1L));
+        Mockito.when(medicoRepository.findAtivoComDataLivreById(eq(1L), any(), any())).thenReturn(Optional.of(medico(1L)));
+        indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // when
+        indice.ocupar(Especialidade.CARDIOLOGIA, proximaSegundaAs10, 1L);
+        var semMedicoLivre = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+        indice.liberar(Especialidade.CARDIOLOGIA, proximaSegundaAs10, 1L);
+        var medicoLivre = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // then
+        assertEquals(Optional.empty(), semMedicoLivre);
+        assertEquals(1L, medicoLivre.orElseThrow().getId());
+    }
+
+    @Test
+    @DisplayName("Deve pular o médico que não pôde ser bloqueado sem tirá-lo do índice")
+    void escolherMedicoLivreCenario4() {
+        // given
+        Mockito.when(medicoRepository.findIdsAtivosByEspecialidade(Especialidade.CARDIOLOGIA)).thenReturn(List.of(1L, 2L));
+        Mockito.when(medicoRepository.findAtivoComDataLivreById(eq(1L), any(), any())).thenReturn(Optional.of(medico(1L)));
+        Mockito.when(medicoRepository.findAtivoComDataLivreById(eq(2L), any(), any())).thenReturn(Optional.of(medico(2L)));
+
+        // when
+        var comMedico1Bloqueado = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10, id -> id != 1L);
+        var comTodosBloqueados = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10, id -> false);
+        var comMedico2Bloqueado = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10, id -> id != 2L);
+
+        // then
+        assertEquals(2L, comMedico1Bloqueado.orElseThrow().getId());
+        assertEquals(Optional.empty(), comTodosBloqueados);
+        assertEquals(1L, comMedico2Bloqueado.orElseThrow().getId());
+        Mockito.verify(medicoRepository, Mockito.times(1)).findAtivoComDataLivreById(eq(1L), any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve incluir como livre o médico cadastrado depois que o horário foi carregado")
+    void incluirMedicoCenario1() {
+        // given
+        Mockito.when(medicoRepository.findIdsAtivosByEspecialidade(Especialidade.CARDIOLOGIA)).thenReturn(List.of(1L));
+        Mockito.when(consultaRepository.findIdsMedicosOcupadosByEspecialidadeAndData(Especialidade.CARDIOLOGIA, proximaSegundaAs10))
+                .thenReturn(List.of(1L));
+        Mockito.when(medicoRepository.findAtivoComDataLivreById(eq(2L), any(), any())).thenReturn(Optional.of(medico(2L)));
+        var antesDoCadastro = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // when
+        indice.incluirMedico(Especialidade.CARDIOLOGIA, 2L);
+        var depoisDoCadastro = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // then
+        assertEquals(Optional.empty(), antesDoCadastro);
+        assertEquals(2L, depoisDoCadastro.orElseThrow().getId());
+        Mockito.verify(medicoRepository, Mockito.times(1)).findIdsAtivosByEspecialidade(Especialidade.CARDIOLOGIA);
+    }
+
+    @Test
+    @DisplayName("Deve carregar o horário de novo depois de invalidado")
+    void invalidarCenario1() {
+        // given
+        Mockito.when(medicoRepository.findIdsAtivosByEspecialidade(Especialidade.CARDIOLOGIA))
+                .thenReturn(List.of())
+                .thenReturn(List.of(3L));
+        Mockito.when(medicoRepository.findAtivoComDataLivreById(eq(3L), any(), any())).thenReturn(Optional.of(medico(3L)));
+        var antesDaImportacao = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // when
+        indice.invalidar();
+        var depoisDaImportacao = indice.escolherMedicoLivre(Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // then
+        assertEquals(Optional.empty(), antesDaImportacao);
+        assertEquals(3L, depoisDaImportacao.orElseThrow().getId());
+    }
+
+    private Medico medico(Long id) {
+        return new Medico(id, "Medico", "medico@voll.med", "123456", "61999999999", Especialidade.CARDIOLOGIA, null, true);
+    }
+}
@@ -0,0 +1,131 @@
+package med.voll.api.domain.consulta.fila;
+
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.medico.Especialidade;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class FilaDeAgendamentosTest {
+
+    @Autowired
+    private FilaDeAgendamentos fila;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from solicitacoes_agendamento");
+    }
+
+    @Test
+    @DisplayName("Deve devolver o mesmo ticket enquanto a solicitação do paciente para o horário não foi concluída")
+    void enfileirarCenario1() {
+        // given
+        var data = LocalDateTime.of(2030, 1, 7, 10, 0);
+        var ticket = fila.enfileirar(new DadosAgendamentoConsulta(1L, null, 5L, data));
+
+        // when
+        var repetida = fila.enfileirar(new DadosAgendamentoConsulta(1L, null, 5L, data));
+        var reservadas = fila.reservar(10);
+        var repetidaDuranteProcessamento = fila.enfileirar(new DadosAgendamentoConsulta(null, Especialidade.CARDIOLOGIA, 5L, data));
+        fila.recusar(reservadas.get(0).id(), CodigoDeErro.PACIENTE_COM_CONSULTA_NO_DIA, "Paciente já possui uma consulta agendada nesse dia");
+        var novaAposConclusao = fila.enfileirar(new DadosAgendamentoConsulta(1L, null, 5L, data));
+
+        // then
+        assertEquals(ticket, repetida);
+        assertEquals(1, reservadas.size());
+        assertEquals(ticket, reservadas.get(0).ticket());
+        assertEquals(ticket, repetidaDuranteProcessamento);
+        assertNotEquals(ticket, novaAposConclusao);
+        var recusada = fila.buscar(ticket).orElseThrow();
+        assertEquals(StatusSolicitacao.RECUSADA, recusada.status());
+        assertEquals(CodigoDeErro.PACIENTE_COM_CONSULTA_NO_DIA, recusada.codigo());
+        assertEquals("Paciente já possui uma consulta agendada nesse dia", recusada.erro());
+        assertEquals(StatusSolicitacao.PENDENTE, fila.buscar(novaAposConclusao).orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("Deve reservar as solicitações pendentes em ordem de chegada, sem repetir as já reservadas")
+    void reservarCenario1() {
+        // given
+        var data = LocalDateTime.of(2030, 1, 7, 10, 0);
+        var primeira = fila.enfileirar(new DadosAgendamentoConsulta(1L, null, 5L, data));
+        var segunda = fila.enfileirar(new DadosAgendamentoConsulta(null, Especialidade.ORTOPEDIA, 6L, data));
+        var terceira = fila.enfileirar(new DadosAgendamentoConsulta(1L, null, 7L, data.plusHours(2)));
+
+        // when
+        var lote = fila.reservar(2);
+        var restante = fila.reservar(2);
+
+        // then
+        assertEquals(2, lote.size());
+        assertEquals(primeira, lote.get(0).ticket());
+        assertEquals(segunda, lote.get(1).ticket());
+        assertEquals(Especialidade.ORTOPEDIA, lote.get(1).dados().especialidade());
+        assertNull(lote.get(1).dados().idMedico());
+        assertEquals(1, restante.size());
+        assertEquals(terceira, restante.get(0).ticket());
+        assertTrue(fila.reservar(2).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve voltar a solicitação em processamento para a fila, sem código nem erro")
+    void devolverCenario1() {
+        // given
+        var data = LocalDateTime.of(2030, 1, 7, 10, 0);
+        var ticket = fila.enfileirar(new DadosAgendamentoConsulta(1L, null, 5L, data));
+        var reservada = fila.reservar(1).get(0);
+
+        // when
+        fila.devolver(reservada.id());
+
+        // then
+        var devolvida = fila.buscar(ticket).orElseThrow();
+        assertEquals(StatusSolicitacao.PENDENTE, devolvida.status());
+        assertNull(devolvida.codigo());
+        assertEquals(ticket, fila.reservar(1).get(0).ticket());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar como FALHOU a solicitação que expirou em todas as tentativas, sem contar as devolvidas")
+    void devolverExpiradasCenario1() {
+        // given
+        var data = LocalDateTime.of(2030, 1, 7, 10, 0);
+        var ticket = fila.enfileirar(new DadosAgendamentoConsulta(1L, null, 5L, data));
+        fila.devolver(fila.reservar(1).get(0).id());
+
+        // when
+        fila.reservar(1);
+        expirarReservas();
+        fila.devolverExpiradas(Duration.ofMinutes(5), 2);
+        var aposPrimeiraTentativa = fila.buscar(ticket).orElseThrow();
+        fila.reservar(1);
+        expirarReservas();
+        fila.devolverExpiradas(Duration.ofMinutes(5), 2);
+
+        // then
+        assertEquals(StatusSolicitacao.PENDENTE, aposPrimeiraTentativa.status());
+        var encerrada = fila.buscar(ticket).orElseThrow();
+        assertEquals(StatusSolicitacao.FALHOU, encerrada.status());
+        assertEquals(CodigoDeErro.TENTATIVAS_ESGOTADAS, encerrada.codigo());
+        assertTrue(fila.reservar(1).isEmpty());
+    }
+
+    private void expirarReservas() {
+        jdbcTemplate.update("update solicitacoes_agendamento set reservada_em = now() - interval '10 minutes' where status = 'PROCESSANDO'");
+    }
+}
@@ -0,0 +1,139 @@
+package med.voll.api.domain.consulta.fila;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoRepository;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.domain.paciente.PacienteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {"api.agenda.modo=assincrono", "api.agenda.fila.intervalo=20ms"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProcessadorDeSolicitacoesTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private PacienteRepository pacienteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from solicitacoes_agendamento");
+        jdbcTemplate.update("delete from consultas");
+        jdbcTemplate.update("delete from medicos");
+        jdbcTemplate.update("delete from pacientes");
+    }
+
+    @Test
+    @DisplayName("Deve aceitar os agendamentos com 202 e concluir cada ticket com a consulta ou com o erro de validação")
+    @WithMockUser
+    void agendarCenario1() throws Exception {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = medicoRepository.save(new Medico(new DadosCadastroMedico("Medico", "medico@voll.med",
+                "61999999999", "123456", Especialidade.CARDIOLOGIA, dadosEndereco())));
+        var pacientes = new ArrayList<Paciente>();
+        for (int i = 0; i < 3; i++) {
+            pacientes.add(pacienteRepository.save(new Paciente(new DadosCadastroPaciente("Paciente " + i,
+                    "paciente" + i + "@email.com", "61999999999", String.format("%011d", i), dadosEndereco()))));
+        }
+
+        // when
+        var tickets = List.of(
+                solicitar(new DadosAgendamentoConsulta(medico.getId(), null, pacientes.get(0).getId(), proximaSegundaAs10)),
+                solicitar(new DadosAgendamentoConsulta(medico.getId(), null, pacientes.get(1).getId(), proximaSegundaAs10.plusHours(3))),
+                solicitar(new DadosAgendamentoConsulta(medico.getId(), null, pacientes.get(2).getId(), proximaSegundaAs10.plusMinutes(30))));
+        var solicitacoes = new ArrayList<DadosSolicitacaoAgendamento>();
+        for (var ticket : tickets) {
+            solicitacoes.add(aguardarConclusao(ticket));
+        }
+
+        // then
+        assertEquals(StatusSolicitacao.AGENDADA, solicitacoes.get(0).status());
+        assertNotNull(solicitacoes.get(0).idConsulta());
+        assertEquals(StatusSolicitacao.AGENDADA, solicitacoes.get(1).status());
+        assertEquals(StatusSolicitacao.RECUSADA, solicitacoes.get(2).status());
+        assertEquals(CodigoDeErro.MEDICO_COM_CONSULTA_NO_INTERVALO, solicitacoes.get(2).codigo());
+        assertEquals("Médico já possui uma consulta agendada nesse intervalo", solicitacoes.get(2).erro());
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from consultas", Integer.class));
+    }
+
+    private String solicitar(DadosAgendamentoConsulta dados) throws Exception {
+        var response = mvc.perform(post("/consultas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dados)))
+                .andReturn().getResponse();
+        assertEquals(HttpStatus.ACCEPTED.value(), response.getStatus());
+        var solicitacao = objectMapper.readValue(response.getContentAsString(StandardCharsets.UTF_8), DadosSolicitacaoAgendamento.class);
+        assertTrue(response.getHeader("Location").endsWith("/consultas/solicitacoes/" + solicitacao.ticket()));
+        return solicitacao.ticket().toString();
+    }
+
+    private DadosSolicitacaoAgendamento aguardarConclusao(String ticket) throws Exception {
+        var limite = System.nanoTime() + 10_000_000_000L;
+        while (true) {
+            var response = mvc.perform(get("/consultas/solicitacoes/{ticket}", ticket))
+                    .andReturn().getResponse();
+            var solicitacao = objectMapper.readValue(response.getContentAsString(StandardCharsets.UTF_8), DadosSolicitacaoAgendamento.class);
+            if (solicitacao.status() == StatusSolicitacao.AGENDADA || solicitacao.status() == StatusSolicitacao.RECUSADA) {
+                return solicitacao;
+            }
+            assertTrue(System.nanoTime() < limite, "Solicitação " + ticket + " não foi processada");
+            Thread.sleep(20);
+        }
+    }
+
+    private DadosEndereco dadosEndereco() {
+        return new DadosEndereco(
+                "rua xpto",
+                "1",
+                null,
+                "bairro",
+                "cidade xpto",
+                "sp",
+                "99880111"
+        );
+    }
+}
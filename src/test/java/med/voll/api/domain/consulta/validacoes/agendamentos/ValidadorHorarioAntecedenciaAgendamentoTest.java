@@ -1,37 +1,61 @@
 package med.voll.api.domain.consulta.validacoes.agendamentos;
 
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import med.voll.api.infra.tempo.RelogioAjustavel;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class ValidadorHorarioAntecedenciaAgendamentoTest {
 
+    private static final LocalDateTime AGORA = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+    private final RelogioAjustavel relogio = new RelogioAjustavel(AGORA);
+
+    private final ValidadorHorarioAntecedenciaAgendamento validador = new ValidadorHorarioAntecedenciaAgendamento(relogio);
+
     @Test
     @DisplayName("Deve lançar exceção quando horário de agendamento for próximo")
     void validarCenario1() {
         // given
-        var dataProxima29Minutos = LocalDateTime.now().plusMinutes(29);
-        var dataProxima30Minutos = LocalDateTime.now().plusMinutes(30); // mesmo com 30, vai disparar, pois até a execução será menor do que 30
+        var dataProxima29Minutos = AGORA.plusMinutes(29);
+        var dataProxima30MinutosMenos1Segundo = AGORA.plusMinutes(30).minusSeconds(1);
 
         // then
         assertThrows(RuntimeException.class,
-                () -> new ValidadorHorarioAntecedenciaAgendamento().validar(dadosAgendamentoConsulta(dataProxima29Minutos)));
+                () -> validador.validar(dadosAgendamentoConsulta(dataProxima29Minutos)));
         assertThrows(RuntimeException.class,
-                () -> new ValidadorHorarioAntecedenciaAgendamento().validar(dadosAgendamentoConsulta(dataProxima30Minutos)));
+                () -> validador.validar(dadosAgendamentoConsulta(dataProxima30MinutosMenos1Segundo)));
     }
 
     @Test
-    @DisplayName("Não deve lançar exceção quando horário de agendamento for maior que 30 minutos")
+    @DisplayName("Não deve lançar exceção quando horário de agendamento for a partir de 30 minutos")
     void validarCenario2() {
         // given
-        var dataProxima = LocalDateTime.now().plusMinutes(31);
+        var dataProxima30Minutos = AGORA.plusMinutes(30);
+        var dataProxima31Minutos = AGORA.plusMinutes(31);
+
+        // then
+        assertDoesNotThrow(() -> validador.validar(dadosAgendamentoConsulta(dataProxima30Minutos)));
+        assertDoesNotThrow(() -> validador.validar(dadosAgendamentoConsulta(dataProxima31Minutos)));
+    }
+
+    @Test
+    @DisplayName("Deve passar a lançar exceção quando o relógio avança para dentro da antecedência mínima")
+    void validarCenario3() {
+        // given
+        var dados = dadosAgendamentoConsulta(AGORA.plusHours(1));
+        assertDoesNotThrow(() -> validador.validar(dados));
+
+        // when
+        relogio.avancar(Duration.ofMinutes(31));
 
         // then
-        assertDoesNotThrow(() -> new ValidadorHorarioAntecedenciaAgendamento().validar(dadosAgendamentoConsulta(dataProxima)));
+        assertThrows(RuntimeException.class, () -> validador.validar(dados));
     }
 
     private DadosAgendamentoConsulta dadosAgendamentoConsulta(LocalDateTime data) {
@@ -43,4 +67,4 @@ class ValidadorHorarioAntecedenciaAgendamentoTest {
         );
     }
 
-}
\ No newline at end of file
+}
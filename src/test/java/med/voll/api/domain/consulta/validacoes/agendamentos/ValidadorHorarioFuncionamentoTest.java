@@ -1,5 +1,7 @@
 package med.voll.api.domain.consulta.validacoes.agendamentos;
 
+import med.voll.api.domain.CodigoDeErro;
+import med.voll.api.domain.ValidacaoException;
 import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,6 +10,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -22,8 +25,10 @@ class ValidadorHorarioFuncionamentoTest {
                 .atTime(10, 0);
 
         // then
-        assertThrows(RuntimeException.class,
+        var exception = assertThrows(ValidacaoException.class,
                 () -> new ValidadorHorarioFuncionamento().validar(dadosAgendamentoConsulta(proximoDomingoAs10)));
+        assertEquals(CodigoDeErro.HORARIO_FORA_DO_FUNCIONAMENTO, exception.getCodigo());
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
@@ -65,6 +70,25 @@ class ValidadorHorarioFuncionamentoTest {
                 () -> new ValidadorHorarioFuncionamento().validar(dadosAgendamentoConsulta(proximaQuintaAs10)));
     }
 
+    @Test
+    @DisplayName("Deve devolver erro apenas para os agendamentos do lote fora do horário de funcionamento")
+    void validarTodosCenario1() {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+
+        // when
+        var erros = new ValidadorHorarioFuncionamento().validarTodos(List.of(
+                dadosAgendamentoConsulta(proximaSegundaAs10),
+                dadosAgendamentoConsulta(proximaSegundaAs10.withHour(18))
+        ));
+
+        // then
+        assertEquals(1, erros.size());
+        assertTrue(erros.containsKey(1));
+    }
+
     private DadosAgendamentoConsulta dadosAgendamentoConsulta(LocalDateTime data) {
         return new DadosAgendamentoConsulta(
                 1L,
@@ -21,6 +21,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -108,6 +109,31 @@ class ValidadorMedicoComOutraConsultaNoMesmoHorarioTest {
                         .validar(dadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaSegundaAs10.plusMinutes(61))));
     }
 
+    @Test
+    @DisplayName("Deve devolver erro apenas para os agendamentos do lote que conflitam com consulta do médico")
+    void validarTodosCenario1() {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
+        var outroMedico = cadastrarMedico("Outro Medico", "outro@voll.med", "654321", Especialidade.CARDIOLOGIA);
+        var paciente = cadastrarPaciente("Paciente", "paciente@email.com", "00011122233");
+        cadastrarConsulta(medico, paciente, proximaSegundaAs10);
+
+        // when
+        var erros = new ValidadorMedicoComOutraConsultaNoMesmoHorario(repository).validarTodos(List.of(
+                dadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaSegundaAs10.plusMinutes(61)),
+                dadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaSegundaAs10.minusMinutes(60)),
+                dadosAgendamentoConsulta(outroMedico.getId(), paciente.getId(), proximaSegundaAs10),
+                dadosAgendamentoConsulta(null, paciente.getId(), proximaSegundaAs10)
+        ));
+
+        // then
+        assertEquals(1, erros.size());
+        assertTrue(erros.containsKey(1));
+    }
+
     private void cadastrarConsulta(Medico medico, Paciente paciente, LocalDateTime data) {
         em.persist(new Consulta(null, medico, paciente, data, null));
     }
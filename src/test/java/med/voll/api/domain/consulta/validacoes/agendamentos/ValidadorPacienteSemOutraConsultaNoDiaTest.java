@@ -21,6 +21,7 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,6 +68,30 @@ class ValidadorPacienteSemOutraConsultaNoDiaTest {
                 .validar(dadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaTercaAs10)));
     }
 
+    @Test
+    @DisplayName("Deve devolver erro apenas para os agendamentos do lote cujo paciente já possui consulta no dia")
+    void validarTodosCenario1() {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
+        var paciente = cadastrarPaciente("Paciente", "paciente@email.com", "00011122233");
+        var outroPaciente = cadastrarPaciente("Outro Paciente", "outro@email.com", "33322211100");
+        cadastrarConsulta(medico, paciente, proximaSegundaAs10);
+
+        // when
+        var erros = new ValidadorPacienteSemOutraConsultaNoDia(repository).validarTodos(List.of(
+                dadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaSegundaAs10.plusHours(4)),
+                dadosAgendamentoConsulta(medico.getId(), paciente.getId(), proximaSegundaAs10.plusDays(1)),
+                dadosAgendamentoConsulta(medico.getId(), outroPaciente.getId(), proximaSegundaAs10.plusHours(4))
+        ));
+
+        // then
+        assertEquals(1, erros.size());
+        assertTrue(erros.containsKey(0));
+    }
+
     private void cadastrarConsulta(Medico medico, Paciente paciente, LocalDateTime data) {
         em.persist(new Consulta(null, medico, paciente, data, null));
     }
@@ -7,6 +7,7 @@ import med.voll.api.domain.medico.Especialidade;
 import med.voll.api.domain.medico.Medico;
 import med.voll.api.domain.paciente.DadosCadastroPaciente;
 import med.voll.api.domain.paciente.Paciente;
+import med.voll.api.infra.tempo.RelogioAjustavel;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,23 +25,27 @@ import static org.junit.jupiter.api.Assertions.*;
 @ActiveProfiles("test")
 class ValidadorHorarioAntecedenciaCancelamentoTest {
 
+    private static final LocalDateTime AGORA = LocalDateTime.of(2030, 1, 7, 10, 0);
+
     @Autowired
     private TestEntityManager em;
 
     @Autowired
     private ConsultaRepository repository;
 
+    private final RelogioAjustavel relogio = new RelogioAjustavel(AGORA);
+
     @Test
     @DisplayName("Deve lançar exceção quando antecedência for menor do que 24h")
     void validarCenario1() {
         // given
-        var amanha = LocalDateTime.now().plusDays(1L); // lança exceção, pois até a assertiva é menor que 24h
+        var amanhaMenos1Minuto = AGORA.plusDays(1L).minusMinutes(1);
         var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
         var paciente = cadastrarPaciente("Paciente", "paciente@email.com", "00011122233");
-        var consultaAmanha = cadastrarConsulta(medico, paciente, amanha);
+        var consultaAmanha = cadastrarConsulta(medico, paciente, amanhaMenos1Minuto);
 
         assertThrows(RuntimeException.class, () ->
-                new ValidadorHorarioAntecedenciaCancelamento(repository)
+                new ValidadorHorarioAntecedenciaCancelamento(repository, relogio)
                         .validar(dadosCancelamentoConsulta(consultaAmanha.getId())));
     }
 
@@ -48,18 +53,18 @@ class ValidadorHorarioAntecedenciaCancelamentoTest {
     @DisplayName("Não deve lançar exceção quando antecedência for maior do que 24h")
     void validarCenario2() {
         // given
-        var depoisDeAmanha = LocalDateTime.now().plusDays(2L);
-        var amanhaMais1Minuto = LocalDateTime.now().plusDays(1L).plusMinutes(1);
+        var depoisDeAmanha = AGORA.plusDays(2L);
+        var amanhaMais1Minuto = AGORA.plusDays(1L).plusMinutes(1);
         var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
         var paciente = cadastrarPaciente("Paciente", "paciente@email.com", "00011122233");
         var consultaAmanha1H = cadastrarConsulta(medico, paciente, amanhaMais1Minuto);
         var consultaDepoisDeAmanha = cadastrarConsulta(medico, paciente, depoisDeAmanha);
 
         assertDoesNotThrow(() ->
-                new ValidadorHorarioAntecedenciaCancelamento(repository)
+                new ValidadorHorarioAntecedenciaCancelamento(repository, relogio)
                         .validar(dadosCancelamentoConsulta(consultaAmanha1H.getId())));
         assertDoesNotThrow(() ->
-                new ValidadorHorarioAntecedenciaCancelamento(repository)
+                new ValidadorHorarioAntecedenciaCancelamento(repository, relogio)
                         .validar(dadosCancelamentoConsulta(consultaDepoisDeAmanha.getId())));
     }
 
@@ -4,18 +4,22 @@ import med.voll.api.domain.consulta.Consulta;
 import med.voll.api.domain.endereco.DadosEndereco;
 import med.voll.api.domain.paciente.DadosCadastroPaciente;
 import med.voll.api.domain.paciente.Paciente;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -67,13 +71,13 @@ class MedicoRepositoryTest {
 
     @Test
     @DisplayName("Deveria devolver Optional.empty quando médico não está ativo")
-    void findAtivoByIdCenario1() {
+    void findMedicoAtivoByIdCenario1() {
         // given
         var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
         medico.excluir();
 
         // when
-        var medicoLivre = medicoRepository.findAtivoById(medico.getId());
+        var medicoLivre = medicoRepository.findMedicoAtivoById(medico.getId());
 
         // then
         assertEquals( Optional.empty(), medicoLivre);
@@ -81,11 +85,11 @@ class MedicoRepositoryTest {
 
     @Test
     @DisplayName("Deveria devolver Optional.empty quando médico não existe")
-    void findAtivoByIdCenario2() {
+    void findMedicoAtivoByIdCenario2() {
         // given Nenhum médico cadastrado
 
         // when
-        var medicoLivre = medicoRepository.findAtivoById(1L);
+        var medicoLivre = medicoRepository.findMedicoAtivoById(1L);
 
         // then
         assertEquals( Optional.empty(), medicoLivre);
@@ -93,12 +97,46 @@ class MedicoRepositoryTest {
 
     @Test
     @DisplayName("Deveria devolver médico quando médico existe e está ativo")
-    void findAtivoByIdCenario3() {
+    void findMedicoAtivoByIdCenario3() {
         // given
         var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
 
         // when
-        var medicoLivre = medicoRepository.findAtivoById(medico.getId());
+        var medicoLivre = medicoRepository.findMedicoAtivoById(medico.getId());
+
+        // then
+        assertEquals(new MedicoAtivo(medico.getId(), Especialidade.CARDIOLOGIA), medicoLivre.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Deveria devolver Optional.empty quando médico confirmado já possui consulta na data")
+    void findAtivoComDataLivreByIdCenario1() {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
+        var paciente = cadastrarPaciente("Paciente", "paciente@email.com", "00011122233");
+        cadastrarConsulta(medico, paciente, proximaSegundaAs10);
+
+        // when
+        var medicoLivre = medicoRepository.findAtivoComDataLivreById(medico.getId(), Especialidade.CARDIOLOGIA, proximaSegundaAs10);
+
+        // then
+        assertEquals( Optional.empty(), medicoLivre);
+    }
+
+    @Test
+    @DisplayName("Deveria devolver médico confirmado quando ele estiver disponível na data")
+    void findAtivoComDataLivreByIdCenario2() {
+        // given
+        var proximaSegundaAs10 = LocalDate.now()
+                .with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+                .atTime(10, 0);
+        var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
+
+        // when
+        var medicoLivre = medicoRepository.findAtivoComDataLivreById(medico.getId(), Especialidade.CARDIOLOGIA, proximaSegundaAs10);
 
         // then
         assertEquals(medico, medicoLivre.orElseThrow());
@@ -108,6 +146,60 @@ class MedicoRepositoryTest {
         em.persist(new Consulta(null, medico, paciente, data, null));
     }
 
+    @Test
+    @DisplayName("Deveria devolver os médicos ativos seguintes ao cursor, desempatando nomes iguais pelo id")
+    void findByAtivoTrueAposNomeEIdCenario1() {
+        // given
+        var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
+        var homonimo = cadastrarMedico("Medico", "homonimo@voll.med", "654321", Especialidade.ORTOPEDIA);
+        cadastrarMedico("Medico Inativo", "inativo@voll.med", "111111", Especialidade.CARDIOLOGIA).excluir();
+        var outroMedico = cadastrarMedico("Outro Medico", "outro.medico@voll.med", "222222", Especialidade.CARDIOLOGIA);
+
+        // when
+        var slice = medicoRepository.findByAtivoTrueAposNomeEId(medico.getNome(), medico.getId(), PageRequest.ofSize(10));
+
+        // then
+        assertEquals(List.of(new DadosListagemMedico(homonimo), new DadosListagemMedico(outroMedico)), slice.getContent());
+        assertFalse(slice.hasNext());
+    }
+
+    @Test
+    @DisplayName("Deveria devolver a página de médicos ativos na ordenação pedida, com o total, sem carregar as entidades")
+    void findAllByAtivoTrueCenario1() {
+        // given
+        cadastrarMedico("Bruno", "bruno@voll.med", "222222", Especialidade.ORTOPEDIA);
+        var ana = cadastrarMedico("Ana", "ana@voll.med", "111111", Especialidade.CARDIOLOGIA);
+        cadastrarMedico("Carla", "carla@voll.med", "333333", Especialidade.CARDIOLOGIA).excluir();
+        em.flush();
+        em.clear();
+
+        // when
+        var pagina = medicoRepository.findAllByAtivoTrue(PageRequest.of(0, 1, Sort.by("nome")));
+
+        // then
+        assertEquals(List.of(new DadosListagemMedico(ana)), pagina.getContent());
+        assertEquals(2, pagina.getTotalElements());
+        assertEquals(0, em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Deveria devolver o detalhamento do médico com o endereço sem carregar a entidade")
+    void findDetalhamentoByIdCenario1() {
+        // given
+        var medico = cadastrarMedico("Medico", "medico@voll.med", "123456", Especialidade.CARDIOLOGIA);
+        em.flush();
+        em.clear();
+
+        // when
+        var detalhamento = medicoRepository.findDetalhamentoById(medico.getId()).orElseThrow();
+
+        // then
+        assertEquals(medico.getId(), detalhamento.id());
+        assertEquals("123456", detalhamento.crm());
+        assertEquals("rua xpto", detalhamento.endereco().getLogradouro());
+        assertEquals(0, em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
     private Medico cadastrarMedico(String nome, String email, String crm, Especialidade especialidade) {
         var medico = new Medico(dadosMedico(nome, email, crm, especialidade));
         em.persist(medico);
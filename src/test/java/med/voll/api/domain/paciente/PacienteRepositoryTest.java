@@ -7,8 +7,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,13 +30,13 @@ class PacienteRepositoryTest {
 
     @Test
     @DisplayName("Deveria devolver Optional.empty quando paciente não está ativo")
-    void findAtivoByIdCenario1() {
+    void findIdAtivoByIdCenario1() {
         // given
         var paciente = cadastrarPaciente("Pacienete", "paciente@voll.med", "12345678910");
         paciente.excluir();
 
         // when
-        var pacienteLivre = pacienteRepository.findAtivoById(paciente.getId());
+        var pacienteLivre = pacienteRepository.findIdAtivoById(paciente.getId());
 
         // then
         assertEquals( Optional.empty(), pacienteLivre);
@@ -40,11 +44,11 @@ class PacienteRepositoryTest {
 
     @Test
     @DisplayName("Deveria devolver Optional.empty quando paciente não existe")
-    void findAtivoByIdCenario2() {
+    void findIdAtivoByIdCenario2() {
         // given - Não existe paciente
 
         // when
-        var pacienteLivre = pacienteRepository.findAtivoById(1L);
+        var pacienteLivre = pacienteRepository.findIdAtivoById(1L);
 
         // then
         assertEquals( Optional.empty(), pacienteLivre);
@@ -52,15 +56,79 @@ class PacienteRepositoryTest {
 
     @Test
     @DisplayName("Deveria devolver paciente quando paciente existe e está ativo")
-    void findAtivoByIdCenario3() {
+    void findIdAtivoByIdCenario3() {
         // given
         var paciente = cadastrarPaciente("Pacienete", "paciente@voll.med", "12345678910");
 
         // when
-        var pacienteLivre = pacienteRepository.findAtivoById(paciente.getId());
+        var pacienteLivre = pacienteRepository.findIdAtivoById(paciente.getId());
 
         // then
-        assertEquals(paciente, pacienteLivre.orElseThrow());
+        assertEquals(paciente.getId(), pacienteLivre.orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Deveria devolver a página de pacientes ativos na ordenação pedida, com o total")
+    void findAllByAtivoTrueCenario1() {
+        // given
+        var bruno = cadastrarPaciente("Bruno", "bruno@voll.med", "00000000002");
+        var ana = cadastrarPaciente("Ana", "ana@voll.med", "00000000001");
+        cadastrarPaciente("Carla", "carla@voll.med", "00000000003").excluir();
+
+        // when
+        var pagina = pacienteRepository.findAllByAtivoTrue(PageRequest.of(0, 1, Sort.by("nome")));
+
+        // then
+        assertEquals(listagem(ana), pagina.getContent());
+        assertEquals(2, pagina.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Deveria devolver os pacientes ativos seguintes ao cursor ordenados por nome e id")
+    void findByAtivoTrueAposNomeEIdCenario1() {
+        // given
+        var ana = cadastrarPaciente("Ana", "ana@voll.med", "00000000001");
+        var bruno = cadastrarPaciente("Bruno", "bruno@voll.med", "00000000002");
+        var outroBruno = cadastrarPaciente("Bruno", "outro.bruno@voll.med", "00000000003");
+        var carla = cadastrarPaciente("Carla", "carla@voll.med", "00000000004");
+        cadastrarPaciente("Daniel", "daniel@voll.med", "00000000005").excluir();
+        var eduardo = cadastrarPaciente("Eduardo", "eduardo@voll.med", "00000000006");
+
+        // when
+        var primeira = pacienteRepository.findByAtivoTrueOrderByNomeAscIdAsc(PageRequest.ofSize(2));
+        var segunda = pacienteRepository.findByAtivoTrueAposNomeEId(bruno.getNome(), bruno.getId(), PageRequest.ofSize(2));
+        var ultima = pacienteRepository.findByAtivoTrueAposNomeEId(carla.getNome(), carla.getId(), PageRequest.ofSize(2));
+
+        // then
+        assertEquals(listagem(ana, bruno), primeira.getContent());
+        assertTrue(primeira.hasNext());
+        assertEquals(listagem(outroBruno, carla), segunda.getContent());
+        assertEquals(listagem(eduardo), ultima.getContent());
+        assertFalse(ultima.hasNext());
+    }
+
+    @Test
+    @DisplayName("Deveria exportar apenas pacientes ativos, já no formato de listagem")
+    void exportarAtivosCenario1() {
+        // given
+        var bruno = cadastrarPaciente("Bruno", "bruno@voll.med", "00000000002");
+        var ana = cadastrarPaciente("Ana", "ana@voll.med", "00000000001");
+        cadastrarPaciente("Carla", "carla@voll.med", "00000000003").excluir();
+        em.flush();
+        em.clear();
+
+        // when
+        List<DadosListagemPaciente> exportados;
+        try (var stream = pacienteRepository.exportarAtivos()) {
+            exportados = stream.toList();
+        }
+
+        // then
+        assertEquals(listagem(ana, bruno), exportados);
+    }
+
+    private List<DadosListagemPaciente> listagem(Paciente... pacientes) {
+        return Arrays.stream(pacientes).map(DadosListagemPaciente::new).toList();
     }
 
     private Paciente cadastrarPaciente(String nome, String email, String cpf) {
@@ -0,0 +1,176 @@
+package med.voll.api.infra.bloqueio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloqueioDeAgendaEmMemoriaTest {
+
+    private final BloqueioDeAgendaEmMemoria bloqueio = new BloqueioDeAgendaEmMemoria(16, Duration.ofMillis(200));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            finalizarTransacao();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando não houver transação ativa")
+    void bloquearCenario1() {
+        assertThrows(IllegalStateException.class, () -> bloqueio.bloquear(List.of(1L), List.of(1L)));
+    }
+
+    @Test
+    @DisplayName("Deve aguardar o fim da transação que bloqueou o mesmo médico")
+    void bloquearCenario2() throws Exception {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        bloqueio.bloquear(List.of(1L), List.of(1L));
+
+        // when
+        var iniciou = new CountDownLatch(1);
+        var outraTransacao = CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                iniciou.countDown();
+                return bloqueio.bloquear(List.of(1L), List.of(2L));
+            } finally {
+                finalizarTransacao();
+            }
+        });
+        iniciou.await();
+        Thread.sleep(50);
+        var terminouAntesDaLiberacao = outraTransacao.isDone();
+        finalizarTransacao();
+
+        // then
+        assertFalse(terminouAntesDaLiberacao);
+        assertTrue(outraTransacao.get(1, TimeUnit.SECONDS));
+        assertEquals(2L, bloqueio.estatisticas().bloqueios());
+    }
+
+    @Test
+    @DisplayName("Não deve aguardar quando médicos e pacientes forem diferentes")
+    void bloquearCenario3() throws Exception {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        bloqueio.bloquear(List.of(1L), List.of(1L));
+
+        // when
+        var outraTransacao = CompletableFuture.supplyAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                return bloqueio.bloquear(List.of(2L), List.of(2L));
+            } finally {
+                finalizarTransacao();
+            }
+        });
+
+        // then
+        assertTrue(outraTransacao.get(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o tempo máximo de espera for excedido")
+    void bloquearCenario4() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        bloqueio.bloquear(List.of(), List.of(1L));
+
+        // when
+        var outraTransacao = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                bloqueio.bloquear(List.of(), List.of(1L));
+            } finally {
+                finalizarTransacao();
+            }
+        });
+
+        // then
+        var exception = assertThrows(Exception.class, () -> outraTransacao.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RuntimeException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Deve recusar sem esperar o médico bloqueado por outra transação e aceitar depois que ela terminar")
+    void tentarBloquearMedicoCenario1() throws Exception {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        bloqueio.bloquear(List.of(1L), List.of(1L));
+
+        // when
+        var enquantoBloqueado = CompletableFuture.supplyAsync(() -> tentarEmOutraTransacao(1L)).get(100, TimeUnit.MILLISECONDS);
+        var outroMedico = CompletableFuture.supplyAsync(() -> tentarEmOutraTransacao(2L)).get(100, TimeUnit.MILLISECONDS);
+        finalizarTransacao();
+        var depoisDoFim = CompletableFuture.supplyAsync(() -> tentarEmOutraTransacao(1L)).get(100, TimeUnit.MILLISECONDS);
+
+        // then
+        assertFalse(enquantoBloqueado);
+        assertTrue(outroMedico);
+        assertTrue(depoisDoFim);
+    }
+
+    @Test
+    @DisplayName("Deve liberar o médico não escolhido antes do fim da transação")
+    void liberarMedicoCenario1() throws Exception {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        bloqueio.tentarBloquearMedico(1L);
+        bloqueio.tentarBloquearMedico(2L);
+
+        // when
+        bloqueio.liberarMedico(1L);
+
+        // then
+        assertTrue(CompletableFuture.supplyAsync(() -> tentarEmOutraTransacao(1L)).get(100, TimeUnit.MILLISECONDS));
+        assertFalse(CompletableFuture.supplyAsync(() -> tentarEmOutraTransacao(2L)).get(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Deve manter os bloqueios até o fim da transação e não esperar de novo dentro dela")
+    void antesDaTransacaoCenario1() throws Exception {
+        // when
+        var dentroDaTransacao = bloqueio.antesDaTransacao(List.of(1L), List.of(1L), () -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                bloqueio.bloquear(List.of(1L), List.of(1L));
+                return CompletableFuture.supplyAsync(() -> tentarEmOutraTransacao(1L)).join();
+            } finally {
+                finalizarTransacao();
+            }
+        });
+        var depoisDaTransacao = CompletableFuture.supplyAsync(() -> tentarEmOutraTransacao(1L)).get(100, TimeUnit.MILLISECONDS);
+
+        // then
+        assertFalse(dentroDaTransacao);
+        assertTrue(depoisDaTransacao);
+        assertEquals(1L, bloqueio.estatisticas().bloqueios());
+    }
+
+    private boolean tentarEmOutraTransacao(Long idMedico) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            return bloqueio.tentarBloquearMedico(idMedico);
+        } finally {
+            finalizarTransacao();
+        }
+    }
+
+    private static void finalizarTransacao() {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,93 @@
+package med.voll.api.infra.bloqueio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "api.agenda.bloqueio.modo=postgres")
+@ActiveProfiles("test")
+class BloqueioDeAgendaPostgresTest {
+
+    @Autowired
+    private BloqueioDeAgenda bloqueio;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Deve aguardar o commit da transação que bloqueou o mesmo médico")
+    void bloquearCenario1() throws Exception {
+        // given
+        assertInstanceOf(BloqueioDeAgendaPostgres.class, bloqueio);
+        var bloqueou = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+        var primeiraTransacao = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            bloqueio.bloquear(List.of(1L), List.of(1L));
+            bloqueou.countDown();
+            aguardar(liberar);
+        }));
+        bloqueou.await();
+
+        // when
+        var segundaTransacao = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status ->
+                bloqueio.bloquear(List.of(1L), List.of(2L))));
+        Thread.sleep(200);
+        var terminouAntesDoCommit = segundaTransacao.isDone();
+        liberar.countDown();
+
+        // then
+        assertFalse(terminouAntesDoCommit);
+        primeiraTransacao.get(5, TimeUnit.SECONDS);
+        assertTrue(segundaTransacao.get(5, TimeUnit.SECONDS));
+        assertTrue(bloqueio.estatisticas().bloqueios() >= 2);
+    }
+
+    @Test
+    @DisplayName("Deve liberar o último médico tentado antes do commit")
+    void liberarMedicoCenario1() throws Exception {
+        // given
+        var liberou = new CountDownLatch(1);
+        var terminar = new CountDownLatch(1);
+        var primeiraTransacao = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            bloqueio.tentarBloquearMedico(1L);
+            bloqueio.tentarBloquearMedico(2L);
+            bloqueio.liberarMedico(2L);
+            liberou.countDown();
+            aguardar(terminar);
+        }));
+        liberou.await();
+
+        // when
+        var medicoLiberado = tentarEmOutraTransacao(2L);
+        var medicoMantido = tentarEmOutraTransacao(1L);
+        terminar.countDown();
+
+        // then
+        primeiraTransacao.get(5, TimeUnit.SECONDS);
+        assertTrue(medicoLiberado);
+        assertFalse(medicoMantido);
+    }
+
+    private boolean tentarEmOutraTransacao(Long idMedico) throws Exception {
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status ->
+                bloqueio.tentarBloquearMedico(idMedico))).get(5, TimeUnit.SECONDS);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
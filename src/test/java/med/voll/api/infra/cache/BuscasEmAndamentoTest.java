@@ -0,0 +1,95 @@
+package med.voll.api.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuscasEmAndamentoTest {
+
+    private final BuscasEmAndamento<Long, String> buscas = new BuscasEmAndamento<>();
+
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    @Test
+    @DisplayName("Deve consultar uma única vez quando várias threads buscam a mesma chave ao mesmo tempo")
+    void buscarCenario1() throws Exception {
+        var liberarConsulta = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var resultados = new ArrayList<Future<String>>();
+            for (int i = 0; i < 8; i++) {
+                resultados.add(executor.submit(() -> buscas.buscar(1L, id -> {
+                    consultas.incrementAndGet();
+                    aguardar(liberarConsulta);
+                    return "medico " + id;
+                })));
+            }
+
+            // dá tempo para todas as threads chegarem enquanto a primeira consulta ainda está em andamento
+            Thread.sleep(200);
+            liberarConsulta.countDown();
+
+            for (var resultado : resultados) {
+                assertEquals("medico 1", resultado.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, consultas.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve consultar novamente depois que a busca anterior terminou")
+    void buscarCenario2() {
+        buscas.buscar(1L, this::consultar);
+        buscas.buscar(1L, this::consultar);
+
+        assertEquals(2, consultas.get());
+    }
+
+    @Test
+    @DisplayName("Deve repassar a exceção da consulta para todas as threads que aguardavam")
+    void buscarCenario3() throws Exception {
+        var liberarConsulta = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var primeira = executor.submit(() -> buscas.buscar(1L, id -> {
+                aguardar(liberarConsulta);
+                throw new IllegalStateException("banco indisponível");
+            }));
+            Thread.sleep(100);
+            var segunda = executor.submit(() -> buscas.buscar(1L, this::consultar));
+            Thread.sleep(100);
+            liberarConsulta.countDown();
+
+            var erro = assertThrows(ExecutionException.class, () -> segunda.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, erro.getCause());
+            assertThrows(ExecutionException.class, () -> primeira.get(5, TimeUnit.SECONDS));
+            assertEquals(0, consultas.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String consultar(Long id) {
+        consultas.incrementAndGet();
+        return "medico " + id;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package med.voll.api.infra.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.Medico;
+import med.voll.api.domain.medico.MedicoAtivo;
+import med.voll.api.domain.medico.MedicoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheConfigurationsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MedicoRepository medicoRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from medicos");
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar o médico ativo do cache e removê-lo após a exclusão ser confirmada")
+    @WithMockUser
+    void medicosAtivosCenario1() throws Exception {
+        // given
+        var medico = cadastrarMedico();
+        var acertosAntes = acertos("medicosAtivos");
+
+        // when
+        medicoRepository.findMedicoAtivoById(medico.getId());
+        var doCache = medicoRepository.findMedicoAtivoById(medico.getId());
+        var response = mvc.perform(delete("/medicos/{id}", medico.getId()))
+                .andReturn().getResponse();
+
+        // then
+        assertThat(doCache).contains(new MedicoAtivo(medico.getId(), Especialidade.CARDIOLOGIA));
+        assertThat(acertos("medicosAtivos")).isEqualTo(acertosAntes + 1);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.NO_CONTENT.value());
+        assertThat(cacheManager.getCache("medicosAtivos").get(medico.getId())).isNull();
+        assertThat(medicoRepository.findMedicoAtivoById(medico.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Não deve guardar no cache o que foi lido em uma transação desfeita")
+    void medicosAtivosCenario2() {
+        // given
+        var medico = cadastrarMedico();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            medicoRepository.findMedicoAtivoById(medico.getId());
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertThat(cacheManager.getCache("medicosAtivos").get(medico.getId())).isNull();
+    }
+
+    private double acertos(String cache) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter().count();
+    }
+
+    private Medico cadastrarMedico() {
+        return medicoRepository.save(new Medico(new DadosCadastroMedico("Medico", "medico@voll.med",
+                "61999999999", "123456", Especialidade.CARDIOLOGIA, new DadosEndereco(
+                "rua xpto", "1", null, "bairro", "cidade xpto", "sp", "99880111"))));
+    }
+}
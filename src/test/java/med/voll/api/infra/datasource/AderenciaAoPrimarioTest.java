@@ -0,0 +1,46 @@
+package med.voll.api.infra.datasource;
+
+import med.voll.api.infra.tempo.RelogioAjustavel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AderenciaAoPrimarioTest {
+
+    private final RelogioAjustavel relogio = new RelogioAjustavel(LocalDateTime.of(2030, 1, 7, 10, 0));
+
+    private final AderenciaAoPrimario aderencia = new AderenciaAoPrimario(Duration.ofSeconds(5), 100, relogio);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve voltar a ler da réplica quando a janela após a escrita termina")
+    void deveLerDoPrimarioCenario1() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("ana@voll.med", null, "ROLE_USER"));
+
+        aderencia.registrarEscrita();
+        relogio.avancar(Duration.ofSeconds(4));
+        assertTrue(aderencia.deveLerDoPrimario());
+
+        relogio.avancar(Duration.ofSeconds(1));
+        assertFalse(aderencia.deveLerDoPrimario());
+    }
+
+    @Test
+    @DisplayName("Não deve prender ao primário requisições sem usuário autenticado")
+    void deveLerDoPrimarioCenario2() {
+        aderencia.registrarEscrita();
+
+        assertFalse(aderencia.deveLerDoPrimario());
+    }
+}
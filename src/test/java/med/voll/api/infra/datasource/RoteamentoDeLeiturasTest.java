@@ -0,0 +1,137 @@
+package med.voll.api.infra.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import med.voll.api.domain.endereco.DadosEndereco;
+import med.voll.api.domain.medico.DadosAtualizacaoMedico;
+import med.voll.api.domain.medico.DadosCadastroMedico;
+import med.voll.api.domain.medico.Especialidade;
+import med.voll.api.domain.medico.MedicoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Primário e réplica apontam para o mesmo banco de teste, em dois pools identificados pelo application_name
+ * de cada conexão; as aquisições de conexão da réplica são contadas pelas métricas do pool.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.data-source-properties.ApplicationName=voll-primario",
+        "api.datasource.replica.url=${spring.datasource.url}",
+        "api.datasource.replica.hikari.maximum-pool-size=2",
+        "api.datasource.replica.hikari.minimum-idle=1",
+        "api.datasource.replica.hikari.data-source-properties.ApplicationName=voll-replica",
+        "api.datasource.replica.hikari.pool-name=voll-replica",
+        "api.datasource.replica.aderencia.janela=1h"
+})
+@ActiveProfiles("test")
+class RoteamentoDeLeiturasTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MedicoService medicoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long idMedico;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (idMedico != null) {
+            jdbcTemplate.update("delete from medicos where id = ?", idMedico);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ler da réplica dentro de transação somente leitura")
+    void rotearCenario1() {
+        autenticar("ana@voll.med");
+
+        assertEquals("voll-replica", poolDaTransacao(true));
+    }
+
+    @Test
+    @DisplayName("Deve gravar no primário e usar o primário fora de transação")
+    void rotearCenario2() {
+        autenticar("bia@voll.med");
+
+        assertEquals("voll-primario", poolDaTransacao(false));
+        assertEquals("voll-primario", applicationName());
+    }
+
+    @Test
+    @DisplayName("Deve manter no primário as leituras de quem acabou de gravar, sem afetar outros usuários")
+    void rotearCenario3() {
+        autenticar("caio@voll.med");
+        poolDaTransacao(false);
+
+        assertEquals("voll-primario", poolDaTransacao(true));
+
+        autenticar("duda@voll.med");
+        assertEquals("voll-replica", poolDaTransacao(true));
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário o que vai para o cache, mesmo em transação somente leitura")
+    void rotearCenario4() {
+        autenticar("eva@voll.med");
+
+        assertEquals("voll-primario", LeiturasNoPrimario.executar(() -> poolDaTransacao(true)));
+        assertEquals("voll-replica", poolDaTransacao(true));
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário o detalhamento que vai para o cache, para não guardar uma linha atrasada da réplica")
+    void rotearCenario5() {
+        autenticar("fabio@voll.med");
+        var medico = medicoService.cadastrar(new DadosCadastroMedico("Medico", "fabio.medico@voll.med", "61999999999",
+                "765432", Especialidade.CARDIOLOGIA, new DadosEndereco(
+                "rua xpto", "1", null, "bairro", "cidade xpto", "sp", "99880111")));
+        idMedico = medico.getId();
+        medicoService.atualizar(new DadosAtualizacaoMedico(idMedico, "Medico Atualizado", null, null));
+
+        autenticar("gil@voll.med");
+        var usosDaReplica = usosDaReplica();
+        var detalhamento = medicoService.detalhar(idMedico);
+
+        assertEquals("Medico Atualizado", detalhamento.nome());
+        assertEquals(usosDaReplica, usosDaReplica());
+        poolDaTransacao(true);
+        assertEquals(usosDaReplica + 1, usosDaReplica());
+    }
+
+    private String poolDaTransacao(boolean somenteLeitura) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(somenteLeitura);
+        return transactionTemplate.execute(status -> applicationName());
+    }
+
+    private long usosDaReplica() {
+        var aquisicoes = meterRegistry.find("hikaricp.connections.acquire").tag("pool", "voll-replica").timer();
+        return aquisicoes == null ? 0 : aquisicoes.count();
+    }
+
+    private String applicationName() {
+        return jdbcTemplate.queryForObject("select current_setting('application_name')", String.class);
+    }
+
+    private void autenticar(String login) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(login, null, "ROLE_USER"));
+    }
+}
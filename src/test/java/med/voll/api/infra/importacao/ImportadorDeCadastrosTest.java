@@ -0,0 +1,170 @@
+package med.voll.api.infra.importacao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import med.voll.api.domain.ValidacaoException;
+import med.voll.api.domain.paciente.DadosCadastroPaciente;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImportadorDeCadastrosTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final MediaType CSV = MediaType.parseMediaType(ImportadorDeCadastros.TEXT_CSV);
+
+    private final ImportadorDeCadastros importador = new ImportadorDeCadastros(new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    private final PacientesEmMemoria pacientes = new PacientesEmMemoria();
+
+    @Test
+    @DisplayName("Deve importar as linhas válidas e informar o número das linhas rejeitadas")
+    void importarCenario1() throws IOException {
+        var arquivo = String.join("\n",
+                json("ana@voll.med", "11111111111"),
+                "",
+                json("bia@voll.med", "123"),
+                "{nao e json",
+                json("caio@voll.med", "22222222222"));
+
+        var resultado = importador.importar(entrada(arquivo), NDJSON, pacientes);
+
+        assertEquals(4, resultado.total());
+        assertEquals(2, resultado.importados());
+        assertEquals(List.of(3L, 4L), resultado.erros().stream().map(DadosErroImportacao::linha).toList());
+        assertEquals("cpf", resultado.erros().get(0).campo());
+        assertEquals(Set.of("11111111111", "22222222222"), pacientes.cpfs);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar cpf e email já cadastrados ou repetidos no próprio arquivo")
+    void importarCenario2() throws IOException {
+        pacientes.cpfs.add("11111111111");
+        var arquivo = String.join("\n",
+                json("ana@voll.med", "11111111111"),
+                json("bia@voll.med", "22222222222"),
+                json("bia@voll.med", "33333333333"));
+
+        var resultado = importador.importar(entrada(arquivo), NDJSON, pacientes);
+
+        assertEquals(1, resultado.importados());
+        assertEquals(List.of(new DadosErroImportacao(1, "cpf", "já cadastrado"),
+                new DadosErroImportacao(3, "email", "repetido no arquivo")), resultado.erros());
+    }
+
+    @Test
+    @DisplayName("Deve informar as linhas que conflitaram com cadastros gravados por outra transação")
+    void importarCenario3() throws IOException {
+        pacientes.conflitos.add("22222222222");
+        var arquivo = String.join("\n",
+                json("ana@voll.med", "11111111111"),
+                json("bia@voll.med", "22222222222"));
+
+        var resultado = importador.importar(entrada(arquivo), NDJSON, pacientes);
+
+        assertEquals(1, resultado.importados());
+        assertEquals(List.of(2L), resultado.erros().stream().map(DadosErroImportacao::linha).toList());
+    }
+
+    @Test
+    @DisplayName("Deve gravar em lotes sem acumular o arquivo inteiro")
+    void importarCenario4() throws IOException {
+        var linhas = new ArrayList<String>();
+        for (int i = 0; i < ImportadorDeCadastros.TAMANHO_DO_LOTE * 2 + 1; i++) {
+            linhas.add(json("paciente" + i + "@voll.med", String.format("%011d", i)));
+        }
+
+        var resultado = importador.importar(entrada(String.join("\n", linhas)), NDJSON, pacientes);
+
+        assertEquals(linhas.size(), resultado.importados());
+        assertEquals(List.of(ImportadorDeCadastros.TAMANHO_DO_LOTE, ImportadorDeCadastros.TAMANHO_DO_LOTE, 1), pacientes.lotes);
+    }
+
+    @Test
+    @DisplayName("Deve ler CSV com cabeçalho e campos do endereço com ponto")
+    void importarCenario5() throws IOException {
+        var arquivo = """
+                nome,email,telefone,cpf,endereco.logradouro,endereco.numero,endereco.complemento,endereco.bairro,endereco.cidade,endereco.uf,endereco.cep
+                Ana,ana@voll.med,11999994444,11111111111,rua teste,1,,bairro,cidade,sp,12345678
+                Bia,bia@voll.med,11999994444,22222222222,rua teste,1,,bairro,cidade,sp,123
+                """;
+
+        var resultado = importador.importar(entrada(arquivo), CSV, pacientes);
+
+        assertEquals(2, resultado.total());
+        assertEquals(1, resultado.importados());
+        assertEquals(List.of(new DadosErroImportacao(3, "endereco.cep", resultado.erros().get(0).mensagem())), resultado.erros());
+    }
+
+    @Test
+    @DisplayName("Deve recusar CSV malformado")
+    void importarCenario6() {
+        var arquivo = """
+                nome,email
+                Ana,ana@voll.med,11999994444
+                """;
+
+        assertThrows(ValidacaoException.class, () -> importador.importar(entrada(arquivo), CSV, pacientes));
+    }
+
+    private String json(String email, String cpf) {
+        return """
+                {"nome":"paciente","email":"%s","telefone":"11999994444","cpf":"%s","endereco":{"logradouro":"rua teste","numero":"1","bairro":"bairro","cidade":"cidade","uf":"sp","cep":"12345678"}}"""
+                .formatted(email, cpf);
+    }
+
+    private ByteArrayInputStream entrada(String arquivo) {
+        return new ByteArrayInputStream(arquivo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class PacientesEmMemoria implements CadastroEmLote<DadosCadastroPaciente> {
+
+        private final Set<String> cpfs = new HashSet<>();
+
+        private final Set<String> conflitos = new HashSet<>();
+
+        private final List<Integer> lotes = new ArrayList<>();
+
+        private long sequencia;
+
+        @Override
+        public Class<DadosCadastroPaciente> tipo() {
+            return DadosCadastroPaciente.class;
+        }
+
+        @Override
+        public Map<String, Function<DadosCadastroPaciente, String>> camposUnicos() {
+            var campos = new LinkedHashMap<String, Function<DadosCadastroPaciente, String>>();
+            campos.put("cpf", DadosCadastroPaciente::cpf);
+            campos.put("email", DadosCadastroPaciente::email);
+            return campos;
+        }
+
+        @Override
+        public Set<String> existentes(String campo, Collection<String> valores) {
+            var existentes = new HashSet<>(valores);
+            existentes.retainAll(campo.equals("cpf") ? cpfs : Set.of());
+            return existentes;
+        }
+
+        @Override
+        public List<Long> inserirTodos(List<DadosCadastroPaciente> cadastros) {
+            lotes.add(cadastros.size());
+            var ids = new ArrayList<Long>();
+            for (var cadastro : cadastros) {
+                ids.add(conflitos.contains(cadastro.cpf()) || !cpfs.add(cadastro.cpf()) ? null : ++sequencia);
+            }
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package med.voll.api.infra.metricas;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import med.voll.api.domain.consulta.DadosAgendamentoConsulta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class MetricasConfigurationsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @DisplayName("Deve contar a rejeição na regra que recusou o agendamento e publicar as métricas no formato do Prometheus")
+    @WithMockUser
+    void validacoesCenario1() throws Exception {
+        // given
+        var domingoAs10 = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.SUNDAY)).atTime(10, 0);
+        var rejeicoesAntes = rejeicoes("ValidadorHorarioFuncionamento");
+
+        // when
+        var response = mvc.perform(post("/consultas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DadosAgendamentoConsulta(1L, null, 1L, domingoAs10))))
+                .andReturn().getResponse();
+        var prometheus = mvc.perform(get("/actuator/prometheus"))
+                .andReturn().getResponse();
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(rejeicoes("ValidadorHorarioFuncionamento")).isEqualTo(rejeicoesAntes + 1);
+        assertThat(prometheus.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(prometheus.getContentAsString(StandardCharsets.UTF_8))
+                .contains("agenda_validacoes_rejeicoes_total{tipo=\"agendamento\",validador=\"ValidadorHorarioFuncionamento\",}")
+                .contains("agenda_validacoes_seconds_count{tipo=\"agendamento\",validador=\"ValidadorHorarioAntecedenciaAgendamento\",}")
+                .contains("agenda_bloqueios_seconds_count{modo=\"nenhum\",}");
+    }
+
+    @Test
+    @DisplayName("Não deve publicar as métricas sem autenticação fora da porta de gerenciamento")
+    void validacoesCenario2() throws Exception {
+        // when
+        var prometheus = mvc.perform(get("/actuator/prometheus"))
+                .andReturn().getResponse();
+
+        // then
+        assertThat(prometheus.getStatus()).isEqualTo(HttpStatus.FORBIDDEN.value());
+    }
+
+    @Test
+    @DisplayName("Deve medir a verificação de um token inválido")
+    void autenticacaoCenario1() throws Exception {
+        // given
+        var antes = registry.timer("api.autenticacao", "resultado", "invalido").count();
+
+        // when / then
+        assertThatThrownBy(() -> mvc.perform(get("/medicos").header("Authorization", "Bearer token-invalido")))
+                .hasMessageContaining("Token JWT inválido ou expirado!");
+        assertThat(registry.timer("api.autenticacao", "resultado", "invalido").count()).isEqualTo(antes + 1);
+        assertThat(registry.get("api.token.verificacoes").tag("exception", "RuntimeException").timer().count()).isPositive();
+    }
+
+    private double rejeicoes(String validador) {
+        var contador = registry.find("agenda.validacoes.rejeicoes").tag("validador", validador).counter();
+        return contador != null ? contador.count() : 0;
+    }
+}
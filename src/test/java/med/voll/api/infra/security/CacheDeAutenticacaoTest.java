@@ -0,0 +1,76 @@
+package med.voll.api.infra.security;
+
+import med.voll.api.domain.usuario.Usuario;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheDeAutenticacaoTest {
+
+    private final CacheDeAutenticacao cache = new CacheDeAutenticacao(100, Clock.systemUTC());
+
+    private final AtomicInteger autenticacoes = new AtomicInteger();
+
+    @Test
+    @DisplayName("Deve autenticar o token apenas uma vez enquanto ele não expirar")
+    void buscarCenario1() {
+        var expiracao = Instant.now().plusSeconds(60);
+
+        var primeira = cache.buscar("token", t -> autenticar("ana@voll.med", expiracao));
+        var segunda = cache.buscar("token", t -> autenticar("ana@voll.med", expiracao));
+
+        assertSame(primeira, segunda);
+        assertEquals(1, autenticacoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve autenticar novamente quando o token já expirou")
+    void buscarCenario2() {
+        var expiracao = Instant.now().minusSeconds(1);
+
+        cache.buscar("token", t -> autenticar("ana@voll.med", expiracao));
+        cache.buscar("token", t -> autenticar("ana@voll.med", expiracao));
+
+        assertEquals(2, autenticacoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve autenticar novamente todos os tokens do usuário invalidado")
+    void invalidarUsuarioCenario1() {
+        var expiracao = Instant.now().plusSeconds(60);
+        cache.buscar("token-1", t -> autenticar("ana@voll.med", expiracao));
+        cache.buscar("token-2", t -> autenticar("ana@voll.med", expiracao));
+        cache.buscar("token-3", t -> autenticar("bia@voll.med", expiracao));
+
+        cache.invalidarUsuario("ana@voll.med");
+        cache.buscar("token-1", t -> autenticar("ana@voll.med", expiracao));
+        cache.buscar("token-2", t -> autenticar("ana@voll.med", expiracao));
+        cache.buscar("token-3", t -> autenticar("bia@voll.med", expiracao));
+
+        assertEquals(5, autenticacoes.get());
+    }
+
+    @Test
+    @DisplayName("Deve autenticar novamente o token guardado quando a chave que o assinou deixa de ser aceita")
+    void buscarCenario3() {
+        var expiracao = Instant.now().plusSeconds(60);
+        cache.buscar("token", t -> autenticar("ana@voll.med", expiracao), kid -> true);
+
+        var comChaveRemovida = assertThrows(RuntimeException.class, () -> cache.buscar("token", t -> {
+            throw new RuntimeException("Token JWT inválido ou expirado!");
+        }, kid -> !kid.equals("1")));
+
+        assertEquals("Token JWT inválido ou expirado!", comChaveRemovida.getMessage());
+        assertEquals(1, autenticacoes.get());
+    }
+
+    private CacheDeAutenticacao.UsuarioAutenticado autenticar(String login, Instant expiracao) {
+        autenticacoes.incrementAndGet();
+        return new CacheDeAutenticacao.UsuarioAutenticado(new Usuario(null, login, "senha"), expiracao, "1");
+    }
+}
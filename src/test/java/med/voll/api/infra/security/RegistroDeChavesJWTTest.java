@@ -0,0 +1,48 @@
+package med.voll.api.infra.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RegistroDeChavesJWTTest {
+
+    @Autowired
+    private RegistroDeChavesJWT registro;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from chaves_jwt");
+    }
+
+    @Test
+    @DisplayName("Deve devolver as chaves em ordem de criação, marcando as removidas, inclusive as que não estavam gravadas")
+    void buscarTodasCenario1() {
+        // given
+        registro.gravar("2", "87654321");
+        registro.gravar("3", "11223344");
+
+        // when
+        registro.remover("2");
+        registro.remover("0");
+
+        // then
+        assertEquals(List.of(
+                new RegistroDeChavesJWT.ChaveGravada("2", "87654321", true),
+                new RegistroDeChavesJWT.ChaveGravada("3", "11223344", false),
+                new RegistroDeChavesJWT.ChaveGravada("0", null, true)), registro.buscarTodas());
+        assertThrows(IllegalArgumentException.class, () -> registro.gravar("3", "outra"));
+    }
+}
@@ -0,0 +1,79 @@
+package med.voll.api.infra.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.domain.usuario.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityFilterTest {
+
+    private final TokenService tokenService = new TokenService("12345678", "1", Clock.systemUTC());
+
+    private final UsuarioRepository repository = Mockito.mock(UsuarioRepository.class);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final SecurityFilter filtro = new SecurityFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filtro, "tokenService", tokenService);
+        ReflectionTestUtils.setField(filtro, "repository", repository);
+        ReflectionTestUtils.setField(filtro, "cacheDeAutenticacao", new CacheDeAutenticacao(100, Clock.systemUTC()));
+        ReflectionTestUtils.setField(filtro, "registry", registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Deve seguir sem autenticação quando o token é válido mas o login foi excluído")
+    void doFilterCenario1() throws Exception {
+        // given
+        var token = tokenService.gerarToken(new Usuario(1L, "ana.souza@voll.med", "senha"));
+        Mockito.when(repository.findByLogin("ana.souza@voll.med")).thenReturn(null);
+        var request = new MockHttpServletRequest("GET", "/medicos");
+        request.addHeader("Authorization", "Bearer " + token);
+        var chain = new MockFilterChain();
+
+        // when
+        filtro.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertSame(request, chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(1, registry.timer("api.autenticacao", "resultado", "usuario_inexistente").count());
+    }
+
+    @Test
+    @DisplayName("Deve autenticar a requisição com o usuário do token")
+    void doFilterCenario2() throws Exception {
+        // given
+        var usuario = new Usuario(1L, "ana.souza@voll.med", "senha");
+        var token = tokenService.gerarToken(usuario);
+        Mockito.when(repository.findByLogin("ana.souza@voll.med")).thenReturn(usuario);
+        var request = new MockHttpServletRequest("GET", "/medicos");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        // when
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertEquals(usuario, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+}
@@ -0,0 +1,139 @@
+package med.voll.api.infra.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import med.voll.api.domain.usuario.Usuario;
+import med.voll.api.infra.tempo.RelogioAjustavel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenServiceTest {
+
+    private final Usuario usuario = new Usuario(1L, "ana.souza@voll.med", "senha");
+
+    private final RelogioAjustavel relogio = new RelogioAjustavel(LocalDateTime.of(2030, 1, 7, 10, 0));
+
+    @Test
+    @DisplayName("Deve validar o token gerado e informar o login do usuário")
+    void verificarCenario1() {
+        // given
+        var service = new TokenService("12345678", "1", relogio);
+
+        // when
+        var token = service.verificar(service.gerarToken(usuario));
+
+        // then
+        assertEquals("ana.souza@voll.med", token.getSubject());
+        assertEquals("1", token.getKeyId());
+    }
+
+    @Test
+    @DisplayName("Deve continuar aceitando tokens da chave anterior após a rotação")
+    void verificarCenario2() {
+        // given
+        var service = new TokenService("12345678", "1", relogio);
+        var tokenAntigo = service.gerarToken(usuario);
+
+        // when
+        service.rotacionarChave("2", "87654321");
+        var tokenNovo = service.gerarToken(usuario);
+
+        // then
+        assertEquals("ana.souza@voll.med", service.getSubject(tokenAntigo));
+        assertEquals("2", service.verificar(tokenNovo).getKeyId());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar tokens de uma chave removida")
+    void verificarCenario3() {
+        // given
+        var service = new TokenService("12345678", "1", relogio);
+        var tokenAntigo = service.gerarToken(usuario);
+        service.rotacionarChave("2", "87654321");
+
+        // when
+        service.removerChave("1");
+
+        // then
+        assertThrows(RuntimeException.class, () -> service.verificar(tokenAntigo));
+        assertThrows(IllegalArgumentException.class, () -> service.removerChave("2"));
+        assertFalse(service.aceitaChave("1"));
+        assertTrue(service.aceitaChave("2"));
+    }
+
+    @Test
+    @DisplayName("Deve validar tokens sem kid emitidos antes da rotação com a chave inicial")
+    void verificarCenario4() {
+        // given
+        var service = new TokenService("12345678", "1", relogio);
+        var tokenSemKid = JWT.create()
+                .withIssuer("API Voll.med")
+                .withSubject("ana.souza@voll.med")
+                .withExpiresAt(relogio.instant().plusSeconds(60))
+                .sign(Algorithm.HMAC256("12345678"));
+
+        // when
+        service.rotacionarChave("2", "87654321");
+
+        // then
+        assertEquals("ana.souza@voll.med", service.getSubject(tokenSemKid));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar token assinado com outra senha")
+    void verificarCenario5() {
+        // given
+        var service = new TokenService("12345678", "1", relogio);
+        var tokenForjado = new TokenService("outra-senha", "1", relogio).gerarToken(usuario);
+
+        // when / then
+        assertThrows(RuntimeException.class, () -> service.verificar(tokenForjado));
+    }
+
+    @Test
+    @DisplayName("Deve expirar o token duas horas após a emissão, independente do fuso do servidor")
+    void verificarCenario6() {
+        // given
+        var service = new TokenService("12345678", "1", relogio);
+        var token = service.gerarToken(usuario);
+
+        // when
+        relogio.avancar(Duration.ofHours(2).minusSeconds(1));
+        var antesDeExpirar = service.verificar(token);
+        relogio.avancar(Duration.ofSeconds(2));
+
+        // then
+        assertEquals(relogio.instant().minusSeconds(1).truncatedTo(ChronoUnit.SECONDS), antesDeExpirar.getExpiresAtAsInstant());
+        assertThrows(RuntimeException.class, () -> service.verificar(token));
+    }
+
+    @Test
+    @DisplayName("Deve assinar com a última chave gravada e recusar as removidas depois da sincronização")
+    void sincronizarCenario1() {
+        // given
+        var service = new TokenService("12345678", "1", relogio);
+        var tokenDaChaveInicial = service.gerarToken(usuario);
+        var outraInstancia = new TokenService("12345678", "1", relogio);
+        outraInstancia.sincronizar(List.of(new RegistroDeChavesJWT.ChaveGravada("2", "87654321", false)));
+        var tokenDaChaveRotacionada = outraInstancia.gerarToken(usuario);
+
+        // when
+        service.sincronizar(List.of(
+                new RegistroDeChavesJWT.ChaveGravada("2", "87654321", false),
+                new RegistroDeChavesJWT.ChaveGravada("1", null, true)));
+
+        // then
+        assertEquals("2", service.chaveAtual());
+        assertEquals("ana.souza@voll.med", service.getSubject(tokenDaChaveRotacionada));
+        assertThrows(RuntimeException.class, () -> service.verificar(tokenDaChaveInicial));
+        assertEquals(Set.of("2"), service.chavesAceitas());
+    }
+}
@@ -0,0 +1,50 @@
+package med.voll.api.infra.tempo;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Clock que só anda quando mandado, para testes e benchmarks simularem a passagem do tempo sem esperar.
+ */
+public class RelogioAjustavel extends Clock {
+
+    private final ZoneId zona;
+
+    private volatile Instant agora;
+
+    public RelogioAjustavel(LocalDateTime agora) {
+        this.zona = ZoneId.systemDefault();
+        this.agora = agora.atZone(zona).toInstant();
+    }
+
+    private RelogioAjustavel(Instant agora, ZoneId zona) {
+        this.zona = zona;
+        this.agora = agora;
+    }
+
+    public synchronized void avancar(Duration duracao) {
+        agora = agora.plus(duracao);
+    }
+
+    public void ajustar(LocalDateTime data) {
+        agora = data.atZone(zona).toInstant();
+    }
+
+    @Override
+    public Instant instant() {
+        return agora;
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zona;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zona) {
+        return new RelogioAjustavel(agora, zona);
+    }
+}
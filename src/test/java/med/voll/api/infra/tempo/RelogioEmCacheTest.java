@@ -0,0 +1,36 @@
+package med.voll.api.infra.tempo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelogioEmCacheTest {
+
+    @Test
+    @DisplayName("Deve manter o último instante lido até a próxima atualização")
+    void instantCenario1() throws Exception {
+        // given
+        var origem = new RelogioAjustavel(LocalDateTime.of(2030, 1, 7, 10, 0));
+        var inicio = origem.instant();
+
+        try (var relogio = new RelogioEmCache(origem, Duration.ofMillis(20))) {
+            // when
+            origem.avancar(Duration.ofMinutes(1));
+            var antesDaAtualizacao = relogio.instant();
+            var limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (relogio.instant().equals(inicio) && System.nanoTime() < limite) {
+                Thread.sleep(5);
+            }
+
+            // then
+            assertTrue(antesDaAtualizacao.equals(inicio) || antesDaAtualizacao.equals(origem.instant()));
+            assertEquals(origem.instant(), relogio.instant());
+            assertEquals(origem.instant().toEpochMilli(), relogio.millis());
+            assertEquals(origem.getZone(), relogio.getZone());
+        }
+    }
+}
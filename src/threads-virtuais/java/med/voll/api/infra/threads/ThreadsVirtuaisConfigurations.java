@@ -0,0 +1,23 @@
+package med.voll.api.infra.threads;
+
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Cada requisição roda em uma thread virtual própria, no lugar do pool de threads do Tomcat.
+ * O limite de concorrência passa a ser o pool do Hikari, dimensionado em application-threads-virtuais.properties.
+ */
+@Configuration
+@Profile("threads-virtuais")
+public class ThreadsVirtuaisConfigurations {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> executorDeThreadsVirtuais() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+}